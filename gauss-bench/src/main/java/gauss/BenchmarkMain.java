@@ -0,0 +1,24 @@
+package gauss;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// === Entry point of benchmarks.jar ===
+// The usual JMH command line, GC profiler (allocation rate, gc.alloc.rate.norm) is always on:
+//   java -jar target/benchmarks.jar Elimination -p size=64,256 -p kind=RANDOM
+public final class BenchmarkMain {
+
+    private BenchmarkMain() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Options options = new OptionsBuilder()
+                .parent(new CommandLineOptions(args))
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,63 @@
+package gauss;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// === Whole solves: elimination + back substitution, without trace ===
+// 4096 takes about a minute per Gauss solve on one core: select sizes with -p size=...
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EliminationBenchmark {
+
+    @Param({"3", "16", "64", "256", "1024", "4096"})
+    public int size;
+
+    @Param({"RANDOM", "DOMINANT", "ILL_CONDITIONED"})
+    public Matrices.Kind kind;
+
+    private double[][] augmented;
+    private double[][] a;
+    private double[] b;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        augmented = Matrices.augmented(kind, size, 42);
+        a = new double[size][];
+        b = new double[size];
+        for (int i = 0; i < size; i++) {
+            a[i] = Arrays.copyOf(augmented[i], size);
+            b[i] = augmented[i][size];
+        }
+    }
+
+    @Benchmark
+    public Solution gauss() {
+        return new GaussMethod(augmented).doMethod();   // constructor copies the matrix
+    }
+
+    @Benchmark
+    public Solution jordan() {
+        return new JordanMethod(augmented).doMethod();
+    }
+
+    @Benchmark
+    public Solution blockedLU() {
+        return LinearSolver.solve(a, b, LinearSolver.Method.LU);
+    }
+}
@@ -0,0 +1,57 @@
+package gauss;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// === Parts of Gauss method: pivot search with row swap, back substitution ===
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class KernelBenchmark {
+
+    @Param({"3", "16", "64", "256", "1024", "4096"})
+    public int size;
+
+    @Param({"RANDOM", "DOMINANT", "ILL_CONDITIONED"})
+    public Matrices.Kind kind;
+
+    private GaussMethod source;                         // not eliminated
+    private GaussMethod triangular;                     // after elimination
+    private int row;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        double[][] augmented = Matrices.augmented(kind, size, 42);
+        source = new GaussMethod(augmented);
+        triangular = new GaussMethod(augmented);
+        triangular.doMethod();
+    }
+
+    // Search of max in column #row below the diagonal and swap of rows; the matrix is
+    // only permuted, so the search length goes over all sizes from 'size' down to 1
+    @Benchmark
+    public boolean pivoting() {
+        boolean ok = source.pivoting(row);
+        row = row + 1 < size ? row + 1 : 0;
+        return ok;
+    }
+
+    @Benchmark
+    public double[] backSubstitution() {
+        return triangular.backSubstitution();
+    }
+}
@@ -0,0 +1,70 @@
+package gauss;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+// === Loading of coefficients: text file (as 'Load coefs...' of the window) and binary file ===
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoaderBenchmark {
+
+    @Param({"3", "16", "64", "256", "1024", "4096"})
+    public int size;
+
+    private Path text;
+    private Path binary;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        double[][] a = Matrices.augmented(Matrices.Kind.RANDOM, size, 42);
+        text = Files.createTempFile("gauss-bench", ".txt");
+        binary = Files.createTempFile("gauss-bench", BinaryMatrixFile.EXTENSION);
+
+        try (BufferedWriter out = Files.newBufferedWriter(text, StandardCharsets.US_ASCII)) {
+            for (double[] row : a) {
+                for (int j = 0; j < row.length; j++)
+                    out.write((j > 0 ? " " : "") + String.format(Locale.ROOT, "%.6f", row[j]));
+                out.write('\n');
+            }
+        }
+        BinaryMatrixFile.write(binary, a);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(text);
+        Files.deleteIfExists(binary);
+    }
+
+    @Benchmark
+    public TextMatrixReader.Result textFile() throws IOException {
+        return TextMatrixReader.read(text, size, size + 1);
+    }
+
+    @Benchmark
+    public double[] binaryFile() throws IOException {
+        return BinaryMatrixFile.read(binary, true);
+    }
+}
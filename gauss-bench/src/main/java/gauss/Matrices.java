@@ -0,0 +1,45 @@
+package gauss;
+
+import java.util.Random;
+
+// === Input matrices of benchmarks, augmented [A|b], same seed - same matrix ===
+public final class Matrices {
+
+    public enum Kind {
+        RANDOM,                                         // uniform in [-1, 1)
+        DOMINANT,                                       // diagonally dominant, no row swaps
+        ILL_CONDITIONED                                 // graded columns 1 .. 1e8, condition ~1e8, swaps on every column
+    }
+
+    private Matrices() {
+    }
+
+    static double[][] augmented(Kind kind, int n, long seed) {
+        Random random = new Random(seed);
+        double[][] a = new double[n][n + 1];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n + 1; j++)
+                a[i][j] = random.nextDouble() * 2 - 1;
+
+        switch (kind) {
+            case DOMINANT:
+                for (int i = 0; i < n; i++) {
+                    double s = 0;
+                    for (int j = 0; j < n; j++)
+                        s += Math.abs(a[i][j]);
+                    a[i][i] = s + 1;
+                }
+                break;
+            case ILL_CONDITIONED:
+                for (int j = 0; j < n; j++) {
+                    double scale = Math.pow(10, n > 1 ? 8.0 * j / (n - 1) : 0);
+                    for (int i = 0; i < n; i++)
+                        a[i][j] *= scale;
+                }
+                break;
+            default:
+                break;
+        }
+        return a;
+    }
+}
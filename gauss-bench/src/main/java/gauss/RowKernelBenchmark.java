@@ -0,0 +1,92 @@
+package gauss;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// === Row kernels against the former loops of GaussMethod and JordanMethod ===
+// The fork runs with the Vector API module, so 'vector' benchmarks use SIMD lanes;
+// the whole elimination with and without it: EliminationBenchmark with -jvmArgsAppend
+// --add-modules=jdk.incubator.vector, or -Dgauss.vector=false.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--add-modules=jdk.incubator.vector")
+public class RowKernelBenchmark {
+
+    @Param({"16", "64", "256", "1024", "4096"})
+    public int length;
+
+    private double[] x, y;
+    private double c, d;
+    private RowKernels vector;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        x = new double[length];
+        y = new double[length];
+        for (int i = 0; i < length; i++) {
+            x[i] = random.nextDouble();
+            y[i] = random.nextDouble();
+        }
+        c = 1.0000001;
+        d = 1e-300;                                     // tiny multiplier: y stays finite over all calls
+        vector = RowKernels.get();
+        if (vector == RowKernels.scalar())
+            throw new IllegalStateException("Vector API module is not available, nothing to compare");
+    }
+
+    // Former inner loop of GaussMethod: division in every element
+    @Benchmark
+    public double[] gaussLoop() {
+        for (int col = 0; col < length; col++)
+            y[col] -= x[col] / c * d;
+        return y;
+    }
+
+    @Benchmark
+    public double[] scalarAxpy() {
+        RowKernels.scalar().axpy(y, 0, x, 0, -(d / c), 0, length);
+        return y;
+    }
+
+    @Benchmark
+    public double[] vectorAxpy() {
+        vector.axpy(y, 0, x, 0, -(d / c), 0, length);
+        return y;
+    }
+
+    // Former row scaling of JordanMethod (c ~ 1: values don't run away)
+    @Benchmark
+    public double[] jordanScaleLoop() {
+        for (int col = 0; col < length; col++)
+            y[col] = y[col] / c;
+        return y;
+    }
+
+    @Benchmark
+    public double[] scalarScale() {
+        RowKernels.scalar().scale(y, 0, 1 / c, 0, length);
+        return y;
+    }
+
+    @Benchmark
+    public double[] vectorScale() {
+        vector.scale(y, 0, 1 / c, 0, length);
+        return y;
+    }
+}
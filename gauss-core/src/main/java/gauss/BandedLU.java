@@ -0,0 +1,153 @@
+package gauss;
+
+// === LU decomposition with partial pivoting of a banded matrix ===
+// A has 'kl' diagonals below the main one and 'ku' above. Row transpositions can widen
+// U up to kl+ku diagonals, so every row keeps 2*kl+ku+1 elements: element (i,j) is
+// band[i*w + j-i+kl], j-i in -kl..kl+ku. Multipliers of L are stored in place of the
+// eliminated elements. Memory O(n*(2kl+ku)), time O(n*kl*(kl+ku)) instead of O(n^3).
+public class BandedLU {
+    private final int n, kl, ku, w;
+    private final double[] band;
+    private final int[] piv;
+    private final boolean[] okLines;
+
+    // Band of dense square matrix
+    public static BandedLU factor(double[][] a, int kl, int ku) {
+        int n = a.length;
+        BandedLU lu = new BandedLU(n, kl, ku);
+        for (int i = 0; i < n; i++)
+            for (int j = Math.max(0, i - kl); j <= Math.min(n - 1, i + ku); j++)
+                lu.band[i * lu.w + j - i + kl] = a[i][j];
+        lu.decompose();
+        return lu;
+    }
+
+    public static BandedLU factor(SparseMatrix a, int kl, int ku) {
+        int n = a.getRows();
+        BandedLU lu = new BandedLU(n, kl, ku);
+        for (int i = 0; i < n; i++)
+            for (int p = a.rowPtr[i]; p < a.rowPtr[i + 1]; p++) {
+                int j = a.colIdx[p];
+                if (j - i < -kl || j - i > ku)
+                    throw new IllegalArgumentException("Element (" + i + "," + j + ") is out of band " + kl + "/" + ku);
+                lu.band[i * lu.w + j - i + kl] = a.values[p];
+            }
+        lu.decompose();
+        return lu;
+    }
+
+    // Tridiagonal matrix: sub[i] = a[i][i-1] (sub[0] unused), diag[i] = a[i][i], sup[i] = a[i][i+1]
+    public static BandedLU factor(double[] sub, double[] diag, double[] sup) {
+        int n = diag.length;
+        BandedLU lu = new BandedLU(n, 1, 1);
+        for (int i = 0; i < n; i++) {
+            if (i > 0) lu.band[i * lu.w] = sub[i];
+            lu.band[i * lu.w + 1] = diag[i];
+            if (i < n - 1) lu.band[i * lu.w + 2] = sup[i];
+        }
+        lu.decompose();
+        return lu;
+    }
+
+    private BandedLU(int n, int kl, int ku) {
+        if (kl < 0 || ku < 0)
+            throw new IllegalArgumentException("Bad bandwidth " + kl + "/" + ku);
+        this.n = n;
+        this.kl = kl;
+        this.ku = ku;
+        this.w = 2 * kl + ku + 1;
+        this.band = new double[Math.multiplyExact(n, w)];
+        this.piv = new int[n];
+        this.okLines = new boolean[n];
+    }
+
+    private void decompose() {
+        for (int i = 0; i < n; i++) {
+            int last = Math.min(n - 1, i + kl);         // last row with nonzero in column #i
+            int right = Math.min(n - 1, i + kl + ku);   // last column of row #i after transpositions
+
+            int rowPivot = i;                           // partial pivoting, as SolveMethod.pivoting
+            for (int row = i + 1; row <= last; row++)
+                if (Math.abs(band[row * w + i - row + kl]) > Math.abs(band[rowPivot * w + i - rowPivot + kl])) rowPivot = row;
+
+            piv[i] = i;
+            if (Math.abs(band[rowPivot * w + i - rowPivot + kl]) < SolveMethod.EPS) {
+                for (int row = i + 1; row <= last; row++)
+                    band[row * w + i - row + kl] = 0;   // column wasn't eliminated - zero multipliers
+                continue;
+            }
+            okLines[i] = true;
+
+            if (rowPivot != i) {
+                piv[i] = rowPivot;
+                for (int col = i; col <= right; col++) {
+                    int p1 = i * w + col - i + kl, p2 = rowPivot * w + col - rowPivot + kl;
+                    double buf = band[p1];
+                    band[p1] = band[p2];
+                    band[p2] = buf;
+                }
+            }
+
+            double c = band[i * w + kl];
+            for (int row = i + 1; row <= last; row++) {
+                int r = row * w - row + kl;             // element (row, col) is band[r + col]
+                double l = band[r + i] / c;
+                band[r + i] = l;
+                if (l == 0) continue;
+                int ri = i * w - i + kl;
+                for (int col = i + 1; col <= right; col++)
+                    band[r + col] -= l * band[ri + col];
+            }
+        }
+    }
+
+    public int getDimension() {
+        return n;
+    }
+
+    public int getRank() {
+        int rank = 0;
+        for (int k = 0; k < n; k++)
+            if (okLines[k]) rank++;
+        return rank;
+    }
+
+    // Solve A*x = b; the same status rules as SolveMethod.checkResults
+    public Solution solve(double[] b) {
+        if (b.length != n)
+            throw new IllegalArgumentException("Length of b (" + b.length + ") differs from dimension (" + n + ")");
+
+        double[] x = b.clone();
+        for (int i = 0; i < n; i++) {                   // transpositions and L*y = P*b
+            int p = piv[i];
+            if (p != i) {
+                double buf = x[i];
+                x[i] = x[p];
+                x[p] = buf;
+            }
+            double xi = x[i];
+            if (xi == 0) continue;
+            for (int row = i + 1; row <= Math.min(n - 1, i + kl); row++)
+                x[row] -= band[row * w + i - row + kl] * xi;
+        }
+
+        Solution.Status status = Solution.Status.UNIQUE;
+        for (int k = 0; k < n; k++)
+            if (!okLines[k]) {
+                if (Math.abs(x[k]) > SolveMethod.EPS)
+                    return new Solution(null, getRank(), Solution.Status.INCONSISTENT);
+                status = Solution.Status.GENERAL;
+            }
+        if (status != Solution.Status.UNIQUE)
+            return new Solution(null, getRank(), status);
+
+        for (int i = n - 1; i >= 0; i--) {             // U*x = y
+            int r = i * w - i + kl;
+            double s = 0;
+            for (int col = i + 1; col <= Math.min(n - 1, i + kl + ku); col++)
+                s += band[r + col] * x[col];
+            x[i] = (x[i] - s) / band[r + i];
+        }
+        return new Solution(x, n, status);
+    }
+}
@@ -0,0 +1,104 @@
+package gauss;
+
+import java.util.concurrent.ForkJoinPool;
+
+// === Batch of many small systems packed into one array ===
+// System #s is augmented matrix [A|b] of dim x (dim+1) at offset s*dim*(dim+1), row-major.
+// Every system is solved by the Gauss method with the same partial pivoting as
+// SolveMethod.pivoting; the only allocation is one work matrix per parallel task.
+// A batch is one record of SolveMetrics: status of the first system without unique solution.
+public final class BatchSolver {
+
+    private BatchSolver() {
+    }
+
+    // Solve 'count' systems, x[s*dim + i] gets x(i) of system #s, status[s] its status
+    public static void solve(double[] systems, int dim, int count, double[] x, Solution.Status[] status) {
+        solve(systems, dim, count, x, status, null);
+    }
+
+    // The same, systems are spread across given pool (null - sequential)
+    public static void solve(double[] systems, int dim, int count, double[] x, Solution.Status[] status, ForkJoinPool pool) {
+        int size = dim * (dim + 1);
+        if (systems.length < (long) size * count)
+            throw new IllegalArgumentException("Array of " + systems.length + " elements can't hold " + count + " systems " + dim + "x" + (dim + 1));
+        if (x.length < (long) dim * count || status.length < count)
+            throw new IllegalArgumentException("Result arrays are shorter than " + count + " systems");
+
+        SolveRecorder recorder = new SolveRecorder("Gauss method (batch)", dim);
+        ParallelRows.run(pool, 0, count, size * dim, (from, to) -> {
+            double[] a = new double[size];
+            for (int s = from; s < to; s++) {
+                System.arraycopy(systems, s * size, a, 0, size);
+                status[s] = solve(a, dim, x, s * dim);
+            }
+        });
+        Solution.Status worst = Solution.Status.UNIQUE;
+        for (int s = 0; s < count && worst == Solution.Status.UNIQUE; s++)
+            worst = status[s];
+        recorder.finish(worst, count * SolveRecorder.luFlops(dim), 0, Double.NaN, null, null);
+    }
+
+    // Gauss method on one augmented matrix 'a' (destroyed), solution to x[xOff..xOff+dim-1]
+    static Solution.Status solve(double[] a, int dim, double[] x, int xOff) {
+        int w = dim + 1;
+        boolean degenerate = false;
+
+        // Matrix transformation
+        for (int i = 0; i < dim; i++) {
+            int rowCur = i * w;
+
+            int rowPivot = rowCur;                      // partial pivoting: max element in column
+            for (int row = rowCur + w; row < dim * w; row += w)
+                if (Math.abs(a[row + i]) > Math.abs(a[rowPivot + i])) rowPivot = row;
+
+            if (Math.abs(a[rowPivot + i]) < SolveMethod.EPS) {
+                degenerate = true;                      // row #i stays with |a[i][i]| < EPS
+                continue;
+            }
+
+            if (rowPivot != rowCur)
+                for (int col = i; col < w; col++) {     // columns left of #i are not used any more
+                    double buf = a[rowCur + col];
+                    a[rowCur + col] = a[rowPivot + col];
+                    a[rowPivot + col] = buf;
+                }
+
+            double c = a[rowCur + i];
+            for (int row = rowCur + w; row < dim * w; row += w) {
+                double d = a[row + i] / c;
+                if (d == 0) continue;
+                for (int col = i; col < w; col++)
+                    a[row + col] -= a[rowCur + col] * d;
+            }
+        }
+
+        if (degenerate)
+            return checkResults(a, dim);
+
+        // Calculate results
+        for (int i = dim - 1; i >= 0; i--) {
+            int r = i * w;
+            double s = 0;
+            for (int j = i + 1; j < dim; j++)
+                s += a[r + j] * x[xOff + j];
+            x[xOff + i] = (a[r + dim] - s) / a[r + i];
+        }
+        return Solution.Status.UNIQUE;
+    }
+
+    // The same check as SolveMethod.checkResults: rows without pivot are those with |a[i][i]| < EPS
+    // (a pivot row is never changed after its step, a skipped one is never touched again)
+    private static Solution.Status checkResults(double[] a, int dim) {
+        int w = dim + 1;
+        Solution.Status status = Solution.Status.UNIQUE;
+        for (int row = 0; row < dim; row++) {
+            if (Math.abs(a[row * w + row]) < SolveMethod.EPS) {
+                if (Math.abs(a[row * w + dim]) > SolveMethod.EPS)
+                    return Solution.Status.INCONSISTENT;
+                status = Solution.Status.GENERAL;
+            }
+        }
+        return status;
+    }
+}
@@ -0,0 +1,222 @@
+package gauss;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32C;
+
+// === Binary matrix file ===
+// Header of 32 bytes, then rows*cols little-endian doubles, row-major:
+//   0  magic 'GMAT'        4  version (short)   6  dtype (short, 1 - float64)
+//   8  rows (int)          12 cols (int)        16 CRC32C of the data (int)
+//   20 reserved, zeros up to 32
+// The data is aligned to 8 bytes, so it can be used right from a mapped buffer.
+public final class BinaryMatrixFile {
+    public static final String EXTENSION = ".gmat";
+    public static final int HEADER_SIZE = 32;
+    public static final short VERSION = 1;
+    public static final short FLOAT64 = 1;
+
+    private static final int MAGIC = 'G' | 'M' << 8 | 'A' << 16 | 'T' << 24;
+    static final int WINDOW = 1 << 30;                  // bytes mapped at once (multiple of 8)
+
+    // Header of the file and mapped data
+    public static final class Mapped {
+        private final int rows, cols;
+        private final DoubleBuffer data;
+
+        Mapped(int rows, int cols, DoubleBuffer data) {
+            this.rows = rows;
+            this.cols = cols;
+            this.data = data;
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getCols() {
+            return cols;
+        }
+
+        // Read-only view of the file data, element (i,j) is get(i*cols + j)
+        public DoubleBuffer getData() {
+            return data.duplicate();
+        }
+
+        public double get(int row, int col) {
+            return data.get(row * cols + col);
+        }
+
+        // Copy of the data into heap array (bulk copy, no parsing)
+        public double[] toArray() {
+            double[] values = new double[rows * cols];
+            data.duplicate().get(values);
+            return values;
+        }
+    }
+
+    // Receives rows of a streamed file; the array is reused for the next row
+    public interface RowVisitor {
+        void row(int index, double[] values);
+    }
+
+    private BinaryMatrixFile() {
+    }
+
+    public static void write(Path file, double[] values, int rows, int cols) throws IOException {
+        long count = (long) rows * cols;
+        if (values.length < count)
+            throw new IllegalArgumentException("Array of " + values.length + " elements can't hold " + rows + "x" + cols + " matrix");
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            CRC32C crc = new CRC32C();
+            long size = count * Double.BYTES;
+            for (long pos = 0; pos < size; pos += WINDOW) {
+                long len = Math.min(WINDOW, size - pos);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_WRITE, HEADER_SIZE + pos, len);
+                window.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().put(values, (int) (pos / Double.BYTES), (int) (len / Double.BYTES));
+                crc.update(window);
+            }
+
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putShort(VERSION).putShort(FLOAT64).putInt(rows).putInt(cols).putInt((int) crc.getValue());
+            header.clear();
+            channel.write(header, 0);
+        }
+    }
+
+    // Augmented matrix [A|b]
+    public static void write(Path file, double[][] augmented) throws IOException {
+        int rows = augmented.length;
+        int cols = rows == 0 ? 0 : augmented[0].length;
+        double[] values = new double[rows * cols];
+        for (int i = 0; i < rows; i++)
+            System.arraycopy(augmented[i], 0, values, i * cols, cols);
+        write(file, values, rows, cols);
+    }
+
+    // Map the file without copying; data must fit in one buffer (less than 2 GB)
+    public static Mapped map(Path file, boolean verify) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int[] dims = readHeader(channel);
+            long size = (long) dims[0] * dims[1] * Double.BYTES;
+            if (size > Integer.MAX_VALUE)
+                throw new IOException("Matrix " + dims[0] + "x" + dims[1] + " is too big to be mapped at once, use read()");
+
+            MappedByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE, size);
+            if (verify)
+                verify(dims[2], data);
+            return new Mapped(dims[0], dims[1], data.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().asReadOnlyBuffer());
+        }
+    }
+
+    // Read the whole matrix into heap array: window by window bulk copy of mapped data
+    public static double[] read(Path file, boolean verify) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int[] dims = readHeader(channel);
+            double[] values = new double[Math.multiplyExact(dims[0], dims[1])];
+            CRC32C crc = new CRC32C();
+            long size = (long) values.length * Double.BYTES;
+            for (long pos = 0; pos < size; pos += WINDOW) {
+                long len = Math.min(WINDOW, size - pos);
+                MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + pos, len);
+                if (verify)
+                    crc.update(window.duplicate());
+                window.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().get(values, (int) (pos / Double.BYTES), (int) (len / Double.BYTES));
+            }
+            if (verify && (int) crc.getValue() != dims[2])
+                throw new IOException("Checksum mismatch: data of " + file + " is corrupted");
+            return values;
+        }
+    }
+
+    // Stream the file row by row, only one row is on the heap (for matrices bigger than the heap)
+    public static void forEachRow(Path file, boolean verify, RowVisitor visitor) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int[] dims = readHeader(channel);
+            double[] values = new double[dims[1]];
+            ByteBuffer row = ByteBuffer.allocateDirect(dims[1] * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+            CRC32C crc = new CRC32C();
+            long pos = HEADER_SIZE;
+            for (int i = 0; i < dims[0]; i++) {
+                row.clear();
+                while (row.hasRemaining())
+                    pos += channel.read(row, pos);
+                row.flip();
+                if (verify)
+                    crc.update(row.duplicate());
+                row.asDoubleBuffer().get(values);
+                visitor.row(i, values);
+            }
+            if (verify && (int) crc.getValue() != dims[2])
+                throw new IOException("Checksum mismatch: data of " + file + " is corrupted");
+        }
+    }
+
+    // Dimensions {rows, cols} from the header
+    public static int[] readDimensions(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int[] dims = readHeader(channel);
+            return new int[] {dims[0], dims[1]};
+        }
+    }
+
+    // Matrix in the file format held in memory (e.g. request body); data is not copied
+    public static Mapped wrap(byte[] bytes, boolean verify) throws IOException {
+        if (bytes.length < HEADER_SIZE)
+            throw new IOException("Data is too short for matrix header");
+        int[] dims = parseHeader(ByteBuffer.wrap(bytes, 0, HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN), bytes.length);
+        ByteBuffer data = ByteBuffer.wrap(bytes, HEADER_SIZE, dims[0] * dims[1] * Double.BYTES).slice();
+        if (verify)
+            verify(dims[2], data);
+        return new Mapped(dims[0], dims[1], data.order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer().asReadOnlyBuffer());
+    }
+
+    // True if data starts with the magic of the format
+    public static boolean isMatrixData(byte[] bytes) {
+        return bytes.length >= 4 && ByteBuffer.wrap(bytes, 0, 4).order(ByteOrder.LITTLE_ENDIAN).getInt() == MAGIC;
+    }
+
+    // {rows, cols, crc}
+    private static int[] readHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+        while (header.hasRemaining())
+            if (channel.read(header, header.position()) < 0)
+                throw new IOException("File is too short for matrix header");
+        header.flip();
+        return parseHeader(header, channel.size());
+    }
+
+    // Header fields checked against 'size' bytes of the whole file
+    private static int[] parseHeader(ByteBuffer header, long size) throws IOException {
+        if (header.getInt() != MAGIC)
+            throw new IOException("Not a matrix file (bad magic)");
+        short version = header.getShort();
+        short dtype = header.getShort();
+        if (version != VERSION)
+            throw new IOException("Unsupported matrix file version " + version);
+        if (dtype != FLOAT64)
+            throw new IOException("Unsupported data type " + dtype);
+
+        int rows = header.getInt(), cols = header.getInt(), crc = header.getInt();
+        if (rows < 0 || cols < 0)
+            throw new IOException("Bad dimensions " + rows + "x" + cols);
+        if (size < HEADER_SIZE + (long) rows * cols * Double.BYTES)
+            throw new IOException("File is shorter than " + rows + "x" + cols + " matrix");
+        return new int[] {rows, cols, crc};
+    }
+
+    private static void verify(int expected, ByteBuffer data) throws IOException {
+        CRC32C crc = new CRC32C();
+        crc.update(data.duplicate());
+        if ((int) crc.getValue() != expected)
+            throw new IOException("Checksum mismatch: matrix data is corrupted");
+    }
+}
@@ -0,0 +1,180 @@
+package gauss;
+
+import java.util.concurrent.ForkJoinPool;
+
+// === Blocked Cholesky decomposition A = L*L^T of symmetric positive-definite matrix ===
+// Only the lower triangle is stored, packed by rows: element (i,j), j <= i, is l[i*(i+1)/2 + j].
+// Half the memory of LU and n^3/6 multiply-adds instead of n^3/3, no pivot search.
+// Left-looking algorithm by blocks of BLOCK columns: the block column is first updated by
+// all columns left of it, KTILE columns at a time, so the rows of the block (BLOCK x KTILE
+// piece, 128 KB) stay in L2 while the rows below stream through; then the block is factored.
+// A pivot below EPS means A is not positive definite (or nearly singular): factor() returns
+// null and the system should be solved by LU, which finds rank and consistency.
+public class CholeskyDecomposition {
+    public static final int BLOCK = 64;
+    public static final int KTILE = 256;
+
+    private final int n;
+    private final double[] l;
+    private ForkJoinPool pool;                          // used only while factoring, null - sequential
+    private boolean positive = true;
+
+    // Lower triangle of square matrix (elements above diagonal are not read)
+    public static CholeskyDecomposition factor(double[][] a) {
+        return factor(a, null);
+    }
+
+    public static CholeskyDecomposition factor(double[][] a, ForkJoinPool pool) {
+        int n = a.length;
+        double[] l = new double[packedSize(n)];
+        for (int i = 0; i < n; i++) {
+            if (a[i].length < n)
+                throw new IllegalArgumentException("Matrix is not square: row " + i + " has " + a[i].length + " coefs");
+            System.arraycopy(a[i], 0, l, offset(i), i + 1);
+        }
+        return check(new CholeskyDecomposition(l, n, pool));
+    }
+
+    // Packed lower triangle; a copy is factored, source array is not changed
+    public static CholeskyDecomposition factorPacked(double[] lower, int n, ForkJoinPool pool) {
+        if (lower.length < packedSize(n))
+            throw new IllegalArgumentException("Array of " + lower.length + " elements can't hold lower triangle of " + n + "x" + n + " matrix");
+        return check(new CholeskyDecomposition(lower.clone(), n, pool));
+    }
+
+    private static CholeskyDecomposition check(CholeskyDecomposition ch) {
+        return ch.positive ? ch : null;
+    }
+
+    private CholeskyDecomposition(double[] l, int n, ForkJoinPool pool) {
+        this.n = n;
+        this.l = l;
+        this.pool = pool;
+        decompose();
+        this.pool = null;
+    }
+
+    // Elements in packed lower triangle of n x n matrix
+    public static int packedSize(int n) {
+        return Math.toIntExact((long) n * (n + 1) / 2);
+    }
+
+    static int offset(int row) {
+        return (int) (row * (row + 1L) / 2);            // in long: row^2 overflows int past 46340
+    }
+
+    // Full symmetric matrix from packed lower triangle (for LU fallback)
+    public static double[] unpack(double[] lower, int n) {
+        double[] a = new double[Math.multiplyExact(n, n)];
+        for (int i = 0; i < n; i++)
+            for (int j = 0, p = offset(i); j <= i; j++, p++) {
+                a[i * n + j] = lower[p];
+                a[j * n + i] = lower[p];
+            }
+        return a;
+    }
+
+    private void decompose() {
+        for (int j0 = 0; j0 < n && positive; j0 += BLOCK) {
+            int j1 = Math.min(j0 + BLOCK, n);
+            int from = j0, to = j1;
+            if (pool == null)
+                update(from, to, from, n);
+            else
+                ParallelRows.run(pool, from, n, from, (rowFrom, rowTo) -> update(from, to, rowFrom, rowTo));
+
+            factorBlock(j0, j1);
+            if (!positive) return;
+            if (pool == null)
+                solveRows(j0, j1, j1, n);
+            else
+                ParallelRows.run(pool, j1, n, (j1 - j0) * (j1 - j0), (rowFrom, rowTo) -> solveRows(from, to, rowFrom, rowTo));
+        }
+    }
+
+    // a[i][j] -= L[i][0..j0) . L[j][0..j0) for columns j0..j1-1 of rows rowFrom..rowTo-1
+    private void update(int j0, int j1, int rowFrom, int rowTo) {
+        for (int k0 = 0; k0 < j0; k0 += KTILE) {
+            int k1 = Math.min(k0 + KTILE, j0);
+            for (int i = rowFrom; i < rowTo; i++) {
+                int ri = offset(i);
+                for (int j = j0, last = Math.min(j1 - 1, i); j <= last; j++) {
+                    int rj = offset(j);
+                    double s = 0;
+                    for (int k = k0; k < k1; k++)
+                        s += l[ri + k] * l[rj + k];
+                    l[ri + j] -= s;
+                }
+            }
+        }
+    }
+
+    // Cholesky of diagonal block j0..j1-1 (already updated by columns left of it)
+    private void factorBlock(int j0, int j1) {
+        for (int j = j0; j < j1; j++) {
+            int rj = offset(j);
+            double d = l[rj + j];
+            for (int k = j0; k < j; k++)
+                d -= l[rj + k] * l[rj + k];
+            if (!(d >= SolveMethod.EPS)) {              // non-positive pivot, NaN too
+                positive = false;
+                return;
+            }
+            double ljj = Math.sqrt(d);
+            l[rj + j] = ljj;
+            for (int i = j + 1; i < j1; i++) {
+                int ri = offset(i);
+                double s = l[ri + j];
+                for (int k = j0; k < j; k++)
+                    s -= l[ri + k] * l[rj + k];
+                l[ri + j] = s / ljj;
+            }
+        }
+    }
+
+    // L[i][j0..j1) of rows below the diagonal block: triangular solve with the block
+    private void solveRows(int j0, int j1, int rowFrom, int rowTo) {
+        for (int i = rowFrom; i < rowTo; i++) {
+            int ri = offset(i);
+            for (int j = j0; j < j1; j++) {
+                int rj = offset(j);
+                double s = l[ri + j];
+                for (int k = j0; k < j; k++)
+                    s -= l[ri + k] * l[rj + k];
+                l[ri + j] = s / l[rj + j];
+            }
+        }
+    }
+
+    public int getDimension() {
+        return n;
+    }
+
+    // L[i][j], j <= i
+    public double get(int i, int j) {
+        return j <= i ? l[offset(i) + j] : 0;
+    }
+
+    // Solve A*x = b: L*y = b, L^T*x = y
+    public Solution solve(double[] b) {
+        if (b.length != n)
+            throw new IllegalArgumentException("Length of b (" + b.length + ") differs from dimension (" + n + ")");
+
+        double[] x = b.clone();
+        for (int i = 0; i < n; i++) {
+            int ri = offset(i);
+            double s = x[i];
+            for (int k = 0; k < i; k++)
+                s -= l[ri + k] * x[k];
+            x[i] = s / l[ri + i];
+        }
+        for (int i = n - 1; i >= 0; i--) {              // by rows of L: column of L^T
+            int ri = offset(i);
+            double xi = x[i] / l[ri + i];
+            x[i] = xi;
+            for (int k = 0; k < i; k++)
+                x[k] -= l[ri + k] * xi;
+        }
+        return new Solution(x, n, Solution.Status.UNIQUE);
+    }
+}
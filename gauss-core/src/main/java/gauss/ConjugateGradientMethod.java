@@ -0,0 +1,48 @@
+package gauss;
+
+// === Conjugate gradient method (preconditioned) ===
+// For symmetric positive-definite A only; the preconditioner must be symmetric
+// positive-definite as well (Jacobi or ILU(0) of a symmetric matrix with a positive diagonal).
+public class ConjugateGradientMethod extends IterativeMethod {
+    public ConjugateGradientMethod(double[][] source) {
+        super.initMethod("Conjugate gradient method", source);
+    }
+
+    public ConjugateGradientMethod(SparseMatrix matrix, double[] b) {
+        super.initMethod("Conjugate gradient method", matrix, b);
+    }
+
+    @Override
+    protected boolean iterate(double[] x) {
+        double[] r = new double[dim], z = new double[dim], p = new double[dim], q = new double[dim];
+        residual(x, r);
+        if (record(norm(r))) return true;
+
+        precondition(r, z);
+        System.arraycopy(z, 0, p, 0, dim);
+        double rz = dot(r, z);
+
+        while (hasIterations()) {
+            matrix.multiply(p, q);
+            double pq = dot(p, q);
+            if (!(pq > 0)) {                            // breakdown
+                print("Matrix is not positive definite\n");
+                return false;
+            }
+            double alpha = rz / pq;
+            for (int i = 0; i < dim; i++) {
+                x[i] += alpha * p[i];
+                r[i] -= alpha * q[i];
+            }
+            if (record(norm(r))) return true;
+
+            precondition(r, z);
+            double rzNew = dot(r, z);
+            double beta = rzNew / rz;
+            rz = rzNew;
+            for (int i = 0; i < dim; i++)
+                p[i] = z[i] + beta * p[i];
+        }
+        return false;
+    }
+}
@@ -0,0 +1,54 @@
+package gauss;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.MathContext;
+
+// === Exact solution: x[i] = numerator[i] / denominator, rank and status without EPS ===
+// getX() gives the nearest doubles for convenience.
+public class ExactSolution extends Solution {
+    private final BigInteger[] numerators;              // null if there is no unique solution
+    private final BigInteger denominator;               // common, positive
+    private final int primes;
+
+    ExactSolution(BigInteger[] numerators, BigInteger denominator, int rank, Status status, int primes) {
+        super(numerators == null ? null : toDoubles(numerators, denominator), rank, status);
+        this.numerators = numerators;
+        this.denominator = denominator;
+        this.primes = primes;
+    }
+
+    private static double[] toDoubles(BigInteger[] numerators, BigInteger denominator) {
+        double[] x = new double[numerators.length];
+        BigDecimal d = new BigDecimal(denominator);
+        for (int i = 0; i < x.length; i++)
+            x[i] = new BigDecimal(numerators[i]).divide(d, MathContext.DECIMAL64).doubleValue();
+        return x;
+    }
+
+    // Numerator of x[i] in lowest terms
+    public BigInteger getNumerator(int i) {
+        return numerators[i].divide(numerators[i].gcd(denominator));
+    }
+
+    // Denominator of x[i] in lowest terms (positive)
+    public BigInteger getDenominator(int i) {
+        return denominator.divide(numerators[i].gcd(denominator));
+    }
+
+    // Least common denominator of all x[i]
+    public BigInteger getCommonDenominator() {
+        return denominator;
+    }
+
+    // Primes used by the modular solve
+    public int getPrimes() {
+        return primes;
+    }
+
+    // x[i] as 'p/q' or 'p'
+    public String toString(int i) {
+        BigInteger q = getDenominator(i);
+        return q.equals(BigInteger.ONE) ? getNumerator(i).toString() : getNumerator(i) + "/" + q;
+    }
+}
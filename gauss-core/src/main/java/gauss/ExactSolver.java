@@ -0,0 +1,425 @@
+package gauss;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+// === Exact solve of integer and rational systems by multi-modular Gauss elimination ===
+// [A|b] is reduced modulo random 31-bit primes, one prime per task of the pool, all in long
+// arithmetic (Barrett reduction instead of division). Every prime gives rank of A and [A|b],
+// det(A) and x (if det != 0) modulo p. A prime dividing some minor shows lower ranks: such
+// "unlucky" primes are dropped, only the images with the highest ranks are combined.
+// Nonsingular A: x mod M = p1*p2*... is built by Chinese remaindering. After every batch of
+// primes x is tried by rational reconstruction with common denominator and, if it is found,
+// verified exactly in BigInteger: A*x = b. At the latest when M > 2*H (H - Hadamard bound of
+// [A|b], bounds det(A) and the numerators of Cramer's rule) x = adj(A)*b / det(A) is exact.
+// Nonsingularity is proven by any prime with rank n. Rank deficiency is accepted when
+// CONFIRM_PRIMES more random primes agree: all of them unlucky has probability below 1e-15.
+public final class ExactSolver {
+    public static final int CONFIRM_PRIMES = 3;
+    private static final int PRIME_BITS = 31;           // residues fit in int, products of two in long
+
+    private final int n;
+    private final BigInteger[][] ab;                    // augmented matrix n x n+1
+    private final long[] small;                         // same in longs if all fit, else null
+    private final ForkJoinPool pool;
+    private final Random random = new Random();
+    private final Set<Long> usedPrimes = new HashSet<>();
+
+    // Images with the highest ranks seen so far
+    private int rankA = -1, rankAug = -1;
+    private int agreeing;                               // primes with these ranks
+    private BigInteger modulus = BigInteger.ONE;
+    private BigInteger[] xs;                            // x mod modulus (nonsingular A)
+    private BigInteger det;                             // det(A) mod modulus
+
+    private ExactSolver(BigInteger[][] ab, ForkJoinPool pool) {
+        this.n = ab.length;
+        this.ab = ab;
+        this.pool = pool;
+        for (int i = 0; i < n; i++)                     // all rows, the scan below may stop early
+            if (ab[i].length != n + 1)
+                throw new IllegalArgumentException("Row " + i + " must have " + (n + 1) + " coefs");
+        this.small = toLongs(ab, n);
+    }
+
+    // [A|b] in longs, null if some entry needs more than 62 bits
+    private static long[] toLongs(BigInteger[][] ab, int n) {
+        long[] values = new long[n * (n + 1)];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j <= n; j++) {
+                if (ab[i][j].bitLength() > 62)
+                    return null;
+                values[i * (n + 1) + j] = ab[i][j].longValue();
+            }
+        return values;
+    }
+
+    // Integer augmented matrix [A|b]
+    public static ExactSolution solve(BigInteger[][] augmented, ForkJoinPool pool) {
+        return new ExactSolver(augmented, pool).solve();
+    }
+
+    public static ExactSolution solve(long[][] augmented, ForkJoinPool pool) {
+        BigInteger[][] ab = new BigInteger[augmented.length][];
+        for (int i = 0; i < ab.length; i++) {
+            ab[i] = new BigInteger[augmented[i].length];
+            for (int j = 0; j < ab[i].length; j++)
+                ab[i][j] = BigInteger.valueOf(augmented[i][j]);
+        }
+        return solve(ab, pool);
+    }
+
+    // Rational [A|b]: element (i,j) is numerators[i][j] / denominators[i][j]; rows are
+    // multiplied by the least common multiple of their denominators
+    public static ExactSolution solve(BigInteger[][] numerators, BigInteger[][] denominators, ForkJoinPool pool) {
+        BigInteger[][] ab = new BigInteger[numerators.length][];
+        for (int i = 0; i < ab.length; i++) {
+            BigInteger lcm = BigInteger.ONE;
+            for (BigInteger d : denominators[i]) {
+                if (d.signum() == 0)
+                    throw new IllegalArgumentException("Zero denominator in row " + i);
+                lcm = lcm.divide(lcm.gcd(d)).multiply(d.abs());
+            }
+            ab[i] = new BigInteger[numerators[i].length];
+            for (int j = 0; j < ab[i].length; j++)
+                ab[i][j] = numerators[i][j].multiply(lcm).divide(denominators[i][j]);
+        }
+        return solve(ab, pool);
+    }
+
+    // Decimal [A|b] (as typed: 0.1 is 1/10); rows are scaled to integers
+    public static ExactSolution solve(BigDecimal[][] augmented, ForkJoinPool pool) {
+        BigInteger[][] ab = new BigInteger[augmented.length][];
+        for (int i = 0; i < ab.length; i++) {
+            int scale = 0;
+            for (BigDecimal v : augmented[i])
+                scale = Math.max(scale, v.scale());
+            ab[i] = new BigInteger[augmented[i].length];
+            for (int j = 0; j < ab[i].length; j++)
+                ab[i][j] = augmented[i][j].setScale(scale).unscaledValue();
+        }
+        return solve(ab, pool);
+    }
+
+    // A and b of doubles, every double is taken as the exact binary fraction it stores
+    public static ExactSolution solve(double[][] a, double[] b, ForkJoinPool pool) {
+        double[][] augmented = LinearSolver.augment(a, b);
+        BigInteger[][] ab = new BigInteger[augmented.length][];
+        for (int i = 0; i < ab.length; i++) {
+            double[] row = augmented[i];
+            int minExponent = Integer.MAX_VALUE;        // row * 2^-minExponent is integer
+            for (double v : row) {
+                if (!Double.isFinite(v))
+                    throw new IllegalArgumentException("Not a finite number in row " + i + ": " + v);
+                if (v != 0)
+                    minExponent = Math.min(minExponent, lowExponent(v));
+            }
+            ab[i] = new BigInteger[row.length];
+            for (int j = 0; j < row.length; j++) {
+                if (row[j] == 0) {
+                    ab[i][j] = BigInteger.ZERO;
+                    continue;
+                }
+                int e = lowExponent(row[j]);
+                long m = (long) Math.scalb(row[j], -e);   // odd integer mantissa, exact
+                ab[i][j] = BigInteger.valueOf(m).shiftLeft(e - minExponent);
+            }
+        }
+        return solve(ab, pool);
+    }
+
+    // e such that v = m * 2^e with odd integer m
+    private static int lowExponent(double v) {
+        int exponent = Math.max(Math.getExponent(v), Double.MIN_EXPONENT) - 52;
+        long m = (long) Math.scalb(v, -exponent);
+        return exponent + Long.numberOfTrailingZeros(m);
+    }
+
+    private ExactSolution solve() {
+        if (n == 0)
+            return new ExactSolution(new BigInteger[0], BigInteger.ONE, 0, Solution.Status.UNIQUE, 0);
+
+        double bound = hadamardBits() + 2;              // log2(2*H) with margin
+        int batch = pool == null ? 1 : pool.getParallelism();
+        int nextAttempt = 0;                            // modulus bits for next reconstruction try
+        while (true) {
+            for (ModularImage image : images(batch))
+                accept(image);
+
+            if (rankA == n) {
+                if (modulus.bitLength() > bound)
+                    return byDeterminant();
+                if (modulus.bitLength() >= nextAttempt) {
+                    ExactSolution s = byReconstruction();
+                    if (s != null)
+                        return s;
+                    nextAttempt = modulus.bitLength() * 5 / 4;
+                }
+            } else if (agreeing > CONFIRM_PRIMES) {
+                Solution.Status status = rankAug > rankA ? Solution.Status.INCONSISTENT : Solution.Status.GENERAL;
+                return new ExactSolution(null, BigInteger.ONE, rankA, status, usedPrimes.size());
+            }
+        }
+    }
+
+    // Elimination modulo next 'count' primes, in parallel if there is a pool
+    private List<ModularImage> images(int count) {
+        long[] primes = new long[count];
+        for (int k = 0; k < count; k++) {
+            long p;
+            do
+                p = BigInteger.probablePrime(PRIME_BITS, random).longValue();
+            while (!usedPrimes.add(p));
+            primes[k] = p;
+        }
+
+        List<ModularImage> images = new ArrayList<>(count);
+        if (pool == null || count == 1) {
+            for (long p : primes)
+                images.add(eliminate(p));
+            return images;
+        }
+        List<ForkJoinTask<ModularImage>> tasks = new ArrayList<>(count);
+        for (long p : primes)
+            tasks.add(pool.submit(() -> eliminate(p)));
+        for (ForkJoinTask<ModularImage> task : tasks)
+            images.add(task.join());
+        return images;
+    }
+
+    // Keep image if it has the highest ranks, add its x and det to the remainders
+    private void accept(ModularImage image) {
+        if (image.rankA > rankA || image.rankAug > rankAug) {   // earlier images were unlucky
+            rankA = Math.max(rankA, image.rankA);
+            rankAug = Math.max(rankAug, image.rankAug);
+            agreeing = 0;
+            modulus = BigInteger.ONE;
+            xs = null;
+            det = null;
+        }
+        if (image.rankA != rankA || image.rankAug != rankAug)
+            return;
+
+        agreeing++;
+        if (image.x == null) return;
+        if (xs == null) {
+            xs = new BigInteger[n];
+            for (int i = 0; i < n; i++)
+                xs[i] = BigInteger.valueOf(image.x[i]);
+            det = BigInteger.valueOf(image.det);
+            modulus = BigInteger.valueOf(image.p);
+            return;
+        }
+        long p = image.p;
+        long inverse = inverse(modulus.mod(BigInteger.valueOf(p)).longValue(), p);
+        for (int i = 0; i < n; i++)
+            xs[i] = combine(xs[i], image.x[i], p, inverse);
+        det = combine(det, image.det, p, inverse);
+        modulus = modulus.multiply(BigInteger.valueOf(p));
+    }
+
+    // Chinese remainder: R mod M and r mod p -> value mod M*p ('inverse' is 1/M mod p)
+    private BigInteger combine(BigInteger remainder, long r, long p, long inverse) {
+        long t = Math.floorMod(r - remainder.mod(BigInteger.valueOf(p)).longValue(), p);
+        t = t * inverse % p;
+        return remainder.add(modulus.multiply(BigInteger.valueOf(t)));
+    }
+
+    // Cramer's rule: det(A) and det(A) * x are integers below H < M/2
+    private ExactSolution byDeterminant() {
+        BigInteger d = symmetric(det);
+        BigInteger[] numerators = new BigInteger[n];
+        for (int i = 0; i < n; i++)
+            numerators[i] = symmetric(xs[i].multiply(d).mod(modulus));
+        return solution(numerators, d);
+    }
+
+    // x = numerators / d with |numerators|, d <= sqrt(M/2), denominators found by rational
+    // reconstruction and multiplied together; null if it fails or isn't the solution
+    private ExactSolution byReconstruction() {
+        BigInteger limit = modulus.shiftRight(1).sqrt();
+        BigInteger d = BigInteger.ONE;
+        BigInteger[] numerators = new BigInteger[n];
+        for (int i = 0; i < n; i++) {
+            BigInteger v = symmetric(xs[i].multiply(d).mod(modulus));
+            if (v.abs().compareTo(limit) > 0) {
+                BigInteger[] fraction = reconstruct(xs[i].multiply(d).mod(modulus), limit);
+                if (fraction == null) return null;
+                d = d.multiply(fraction[1]);
+                if (d.compareTo(limit) > 0) return null;
+                for (int j = 0; j < i; j++)
+                    numerators[j] = numerators[j].multiply(fraction[1]);
+                v = fraction[0];
+            }
+            numerators[i] = v;
+        }
+
+        for (int i = 0; i < n; i++) {                   // exact check A*x = b
+            BigInteger s = BigInteger.ZERO;
+            for (int j = 0; j < n; j++)
+                if (ab[i][j].signum() != 0)
+                    s = s.add(ab[i][j].multiply(numerators[j]));
+            if (!s.equals(ab[i][n].multiply(d)))
+                return null;
+        }
+        return solution(numerators, d);
+    }
+
+    private ExactSolution solution(BigInteger[] numerators, BigInteger d) {
+        if (d.signum() < 0) {
+            d = d.negate();
+            for (int i = 0; i < n; i++)
+                numerators[i] = numerators[i].negate();
+        }
+        BigInteger g = d;
+        for (BigInteger v : numerators)
+            g = g.gcd(v);
+        if (!g.equals(BigInteger.ONE)) {
+            d = d.divide(g);
+            for (int i = 0; i < n; i++)
+                numerators[i] = numerators[i].divide(g);
+        }
+        return new ExactSolution(numerators, d, n, Solution.Status.UNIQUE, usedPrimes.size());
+    }
+
+    // u = a/b mod M with |a| <= limit, 0 < b <= limit (Wang's extended Euclid); null - none
+    private BigInteger[] reconstruct(BigInteger u, BigInteger limit) {
+        BigInteger r0 = modulus, r1 = u;
+        BigInteger t0 = BigInteger.ZERO, t1 = BigInteger.ONE;
+        while (r1.compareTo(limit) > 0) {
+            BigInteger[] qr = r0.divideAndRemainder(r1);
+            r0 = r1;
+            r1 = qr[1];
+            BigInteger t = t0.subtract(qr[0].multiply(t1));
+            t0 = t1;
+            t1 = t;
+        }
+        if (t1.signum() == 0 || t1.abs().compareTo(limit) > 0 || !r1.gcd(t1).equals(BigInteger.ONE))
+            return null;
+        return t1.signum() > 0 ? new BigInteger[] {r1, t1} : new BigInteger[] {r1.negate(), t1.negate()};
+    }
+
+    // Representative of v mod M in (-M/2, M/2]
+    private BigInteger symmetric(BigInteger v) {
+        return v.shiftLeft(1).compareTo(modulus) > 0 ? v.subtract(modulus) : v;
+    }
+
+    // log2 of Hadamard bound: product of Euclidean norms of the rows of [A|b] (at least 1 each)
+    private double hadamardBits() {
+        double bits = 0;
+        for (BigInteger[] row : ab) {
+            int max = 0;
+            for (BigInteger v : row)
+                max = Math.max(max, v.bitLength());
+            int shift = Math.max(0, max - 60);
+            double sum = 0;
+            for (BigInteger v : row) {
+                double w = v.abs().shiftRight(shift).doubleValue() + (shift > 0 ? 1 : 0);   // upper bound of cut bits
+                sum += w * w;
+            }
+            bits += Math.max(0, 0.5 * Math.log(sum) / Math.log(2) + shift);
+        }
+        return bits;
+    }
+
+    // Ranks, det and x modulo p
+    private static final class ModularImage {
+        long p;
+        int rankA, rankAug;
+        long det;
+        long[] x;                                       // null if A is singular mod p
+    }
+
+    // Gauss elimination of [A|b] mod p into row echelon form, back substitution if rank is n
+    private ModularImage eliminate(long p) {
+        int cols = n + 1;
+        int[] m = new int[n * cols];
+        if (small != null) {
+            for (int k = 0; k < m.length; k++)
+                m[k] = (int) Math.floorMod(small[k], p);
+        } else {
+            BigInteger bp = BigInteger.valueOf(p);
+            for (int i = 0; i < n; i++)
+                for (int j = 0; j < cols; j++)
+                    m[i * cols + j] = ab[i][j].mod(bp).intValue();
+        }
+
+        long barrett = Long.divideUnsigned(-1L, p);
+        ModularImage image = new ModularImage();
+        image.p = p;
+        long det = 1;
+        int row = 0;
+        for (int col = 0; col < cols && row < n; col++) {
+            int pivotRow = row;                         // any nonzero is a pivot in exact arithmetic
+            while (pivotRow < n && m[pivotRow * cols + col] == 0)
+                pivotRow++;
+            if (pivotRow == n) continue;
+
+            int r = row * cols;
+            if (pivotRow != row) {                      // columns left of 'col' are zero in both rows
+                int o = pivotRow * cols;
+                for (int j = col; j < cols; j++) {
+                    int buf = m[r + j];
+                    m[r + j] = m[o + j];
+                    m[o + j] = buf;
+                }
+                det = p - det;
+            }
+            long pivot = m[r + col];
+            if (col < n) {
+                det = reduce(det * pivot, p, barrett);
+                image.rankA++;
+            }
+            long inverse = inverse(pivot, p);
+            for (int i = row + 1; i < n; i++) {
+                int o = i * cols;
+                if (m[o + col] == 0) continue;
+                long g = p - reduce(m[o + col] * inverse, p, barrett);   // row_i -= f * row_r
+                for (int j = col + 1; j < cols; j++)
+                    m[o + j] = (int) reduce(m[o + j] + g * m[r + j], p, barrett);
+                m[o + col] = 0;
+            }
+            row++;
+        }
+        image.rankAug = row;
+        image.det = image.rankA == n ? det % p : 0;
+        if (image.rankA < n) return image;
+
+        long[] x = new long[n];
+        for (int i = n - 1; i >= 0; i--) {
+            int r = i * cols;
+            long s = m[r + n];
+            for (int j = i + 1; j < n; j++)
+                s = reduce(s + (p - m[r + j]) * x[j], p, barrett);
+            x[i] = reduce(s * inverse(m[r + i], p), p, barrett);
+        }
+        image.x = x;
+        return image;
+    }
+
+    // v mod p for 0 <= v < 2^62, 'barrett' = floor((2^64-1)/p): one multiplication instead of division
+    private static long reduce(long v, long p, long barrett) {
+        long r = v - Math.multiplyHigh(v, barrett) * p;
+        return r >= p ? r - p : r;
+    }
+
+    // 1/a mod p by extended Euclid, 0 < a < p
+    private static long inverse(long a, long p) {
+        long r0 = p, r1 = a, t0 = 0, t1 = 1;
+        while (r1 != 0) {
+            long q = r0 / r1, r = r0 - q * r1, t = t0 - q * t1;
+            r0 = r1;
+            r1 = r;
+            t0 = t1;
+            t1 = t;
+        }
+        return t0 < 0 ? t0 + p : t0;
+    }
+}
@@ -0,0 +1,166 @@
+package gauss;
+
+import java.util.concurrent.ForkJoinPool;
+
+// === LU decomposition with partial pivoting in single precision ===
+// The same blocked right-looking algorithm as LUDecomposition on a float array:
+// half the memory traffic and twice as many elements per SIMD register. Only ~7 digits
+// are exact, so it is used as the inner solver of iterative refinement (MixedPrecisionSolver).
+class FloatLUDecomposition {
+    private final int n;
+    private final float[] lu;
+    private final int[] piv;
+    private final boolean[] okLines;
+    private ForkJoinPool pool;                          // used only while factoring, null - sequential
+
+    // Factor rounded copy of 'a' (n x n, row-major)
+    static FloatLUDecomposition factor(double[] a, int n, ForkJoinPool pool) {
+        if (a.length < (long) n * n)
+            throw new IllegalArgumentException("Array of " + a.length + " elements can't hold " + n + "x" + n + " matrix");
+        float[] f = new float[n * n];
+        for (int i = 0; i < f.length; i++)
+            f[i] = (float) a[i];
+        return new FloatLUDecomposition(f, n, pool);
+    }
+
+    private FloatLUDecomposition(float[] a, int n, ForkJoinPool pool) {
+        this.n = n;
+        this.lu = a;
+        this.piv = new int[n];
+        this.okLines = new boolean[n];
+        this.pool = pool;
+        decompose();
+        this.pool = null;
+    }
+
+    private void decompose() {
+        int block = LUDecomposition.BLOCK;
+        for (int k0 = 0; k0 < n; k0 += block) {
+            int k1 = Math.min(k0 + block, n);
+            int kFrom = k0, kTo = k1;
+            factorPanel(k0, k1);
+            if (k1 < n) {
+                ParallelRows.run(pool, k1, n, (k1 - k0) * (k1 - k0) / 2, (from, to) -> solveBlockRow(kFrom, kTo, from, to));
+                ParallelRows.run(pool, k1, n, (k1 - k0) * (n - k1), (from, to) -> updateTrailing(kFrom, kTo, from, to));
+            }
+        }
+    }
+
+    private void factorPanel(int k0, int k1) {
+        for (int k = k0; k < k1; k++) {
+            int rowPivot = k;                           // same rule as SolveMethod.pivoting
+            float max = Math.abs(lu[k * n + k]);
+            for (int row = k + 1; row < n; row++) {
+                float v = Math.abs(lu[row * n + k]);
+                if (v > max) {
+                    max = v;
+                    rowPivot = row;
+                }
+            }
+            if (!(max >= SolveMethod.EPS)) {            // column wasn't eliminated - zero multipliers
+                for (int row = k + 1; row < n; row++)
+                    lu[row * n + k] = 0;
+                piv[k] = k;
+                continue;
+            }
+            piv[k] = rowPivot;
+            okLines[k] = true;
+            if (rowPivot != k)
+                for (int col = 0, o1 = k * n, o2 = rowPivot * n; col < n; col++) {
+                    float buf = lu[o1 + col];
+                    lu[o1 + col] = lu[o2 + col];
+                    lu[o2 + col] = buf;
+                }
+
+            int rowK = k * n;
+            float c = lu[rowK + k];
+            for (int row = k + 1; row < n; row++) {
+                int r = row * n;
+                float l = lu[r + k] / c;
+                lu[r + k] = l;
+                if (l != 0)
+                    axpy(r, rowK, -l, k + 1, k1);
+            }
+        }
+    }
+
+    private void solveBlockRow(int k0, int k1, int colFrom, int colTo) {
+        for (int k = k0 + 1; k < k1; k++)
+            for (int p = k0; p < k; p++) {
+                float l = lu[k * n + p];
+                if (l != 0)
+                    axpy(k * n, p * n, -l, colFrom, colTo);
+            }
+    }
+
+    private void updateTrailing(int k0, int k1, int rowFrom, int rowTo) {
+        int tile = LUDecomposition.TILE * 2;            // twice as many floats fit in the same cache
+        for (int j0 = k1; j0 < n; j0 += tile) {
+            int j1 = Math.min(j0 + tile, n);
+            for (int row = rowFrom; row < rowTo; row++) {
+                int r = row * n;
+                for (int p = k0; p < k1; p++) {
+                    float l = lu[r + p];
+                    if (l != 0)
+                        axpy(r, p * n, -l, j0, j1);
+                }
+            }
+        }
+    }
+
+    private void axpy(int y, int x, float alpha, int from, int to) {
+        for (int col = from; col < to; col++)
+            lu[y + col] += alpha * lu[x + col];
+    }
+
+    boolean isNonsingular() {
+        for (int k = 0; k < n; k++)
+            if (!okLines[k]) return false;
+        return true;
+    }
+
+    // Solve A*x = b in place in single precision, A must be nonsingular
+    void solve(float[] x) {
+        for (int k = 0; k < n; k++) {
+            float buf = x[k];
+            x[k] = x[piv[k]];
+            x[piv[k]] = buf;
+        }
+        for (int i = 1; i < n; i++) {
+            int r = i * n;
+            float s = 0;
+            for (int j = 0; j < i; j++)
+                s += lu[r + j] * x[j];
+            x[i] -= s;
+        }
+        for (int i = n - 1; i >= 0; i--) {
+            int r = i * n;
+            float s = 0;
+            for (int j = i + 1; j < n; j++)
+                s += lu[r + j] * x[j];
+            x[i] = (x[i] - s) / lu[r + i];
+        }
+    }
+
+    // Solve A^T*x = c in place, as LUDecomposition.solveTranspose
+    void solveTranspose(float[] x) {
+        for (int i = 0; i < n; i++) {
+            int r = i * n;
+            float xi = x[i] / lu[r + i];
+            x[i] = xi;
+            for (int j = i + 1; j < n; j++)
+                x[j] -= lu[r + j] * xi;
+        }
+        for (int i = n - 1; i > 0; i--) {
+            int r = i * n;
+            float xi = x[i];
+            for (int j = 0; j < i; j++)
+                x[j] -= lu[r + j] * xi;
+        }
+        for (int k = n - 1; k >= 0; k--) {
+            float buf = x[k];
+            x[k] = x[piv[k]];
+            x[piv[k]] = buf;
+        }
+    }
+}
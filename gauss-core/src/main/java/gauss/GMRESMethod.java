@@ -0,0 +1,109 @@
+package gauss;
+
+import java.util.Arrays;
+
+// === GMRES(m): generalized minimal residual method with restarts ===
+// Any nonsingular A. Every cycle builds an orthonormal Krylov basis of m vectors
+// (Arnoldi process) and takes x with the least residual in it; the basis takes m+1 vectors
+// of memory. Preconditioning is on the right, so the recorded residual is the true one.
+public class GMRESMethod extends IterativeMethod {
+    public static final int DEFAULT_RESTART = 30;
+
+    private int restart = DEFAULT_RESTART;
+
+    public GMRESMethod(double[][] source) {
+        super.initMethod("GMRES method", source);
+    }
+
+    public GMRESMethod(SparseMatrix matrix, double[] b) {
+        super.initMethod("GMRES method", matrix, b);
+    }
+
+    // Size of Krylov basis before restart
+    public void setRestart(int restart) {
+        if (restart < 1)
+            throw new IllegalArgumentException("Restart must be positive: " + restart);
+        this.restart = restart;
+    }
+
+    @Override
+    protected boolean iterate(double[] x) {
+        int m = Math.min(restart, Math.max(dim, 1));
+        double[][] v = new double[m + 1][dim];          // basis
+        double[][] h = new double[m + 1][m];            // Hessenberg matrix, rotated to triangle
+        double[] cs = new double[m], sn = new double[m], g = new double[m + 1];
+        double[] z = new double[dim], w = new double[dim];
+        double[][] zs = preconditioner != null ? new double[m][dim] : v;  // M^-1 * v[j]
+
+        residual(x, v[0]);
+        double beta = norm(v[0]);
+        if (record(beta)) return true;
+
+        while (true) {
+            for (int i = 0; i < dim; i++)
+                v[0][i] /= beta;
+            Arrays.fill(g, 0);
+            g[0] = beta;
+
+            int j = 0;
+            boolean done = false;
+            while (j < m && hasIterations() && !done) {
+                precondition(v[j], zs[j]);
+                matrix.multiply(zs[j], w);
+                for (int k = 0; k <= j; k++) {          // modified Gram-Schmidt
+                    double hk = dot(w, v[k]);
+                    h[k][j] = hk;
+                    for (int i = 0; i < dim; i++)
+                        w[i] -= hk * v[k][i];
+                }
+                double hNext = norm(w);
+                h[j + 1][j] = hNext;
+                if (hNext != 0)
+                    for (int i = 0; i < dim; i++)
+                        v[j + 1][i] = w[i] / hNext;
+
+                for (int k = 0; k < j; k++) {           // previous rotations on new column
+                    double t = cs[k] * h[k][j] + sn[k] * h[k + 1][j];
+                    h[k + 1][j] = -sn[k] * h[k][j] + cs[k] * h[k + 1][j];
+                    h[k][j] = t;
+                }
+                double r = Math.hypot(h[j][j], h[j + 1][j]);
+                if (r == 0) {                           // A*z is in the basis already - A is singular
+                    print("Krylov basis has degenerated\n");
+                    break;
+                }
+                cs[j] = h[j][j] / r;
+                sn[j] = h[j + 1][j] / r;
+                h[j][j] = r;
+                h[j + 1][j] = 0;
+                g[j + 1] = -sn[j] * g[j];
+                g[j] *= cs[j];
+
+                done = record(Math.abs(g[j + 1])) || hNext == 0;
+                j++;
+            }
+            if (j == 0) return false;
+
+            double[] y = new double[j];                 // H*y = g, triangle
+            for (int k = j - 1; k >= 0; k--) {
+                double s = g[k];
+                for (int l = k + 1; l < j; l++)
+                    s -= h[k][l] * y[l];
+                y[k] = s / h[k][k];
+            }
+            for (int k = 0; k < j; k++) {               // x += M^-1 * V * y
+                if (preconditioner == null)
+                    for (int i = 0; i < dim; i++)
+                        x[i] += y[k] * v[k][i];
+                else
+                    for (int i = 0; i < dim; i++)
+                        x[i] += y[k] * zs[k][i];
+            }
+
+            residual(x, v[0]);                          // true residual, estimate may drift
+            beta = norm(v[0]);
+            if (isConverged(beta)) return true;
+            if (!hasIterations() || (j < m && !done)) return false;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package gauss;
+
+// === Gauss method class ===
+public class GaussMethod extends SolveMethod {
+    public GaussMethod(double[][] source) {
+        super.initMethod("Gauss method", source);
+    }
+
+    // Augmented matrix dim x dim+1 in flat row-major array
+    public GaussMethod(double[] source, int dim) {
+        super.initMethod("Gauss method", source, dim);
+    }
+
+    @Override
+    public Solution doMethod() {
+        printSource();
+
+        // Matrix transformation
+        for (int i = 0; i < dim; i++) {
+            progress(i, dim);
+            if ( !pivoting(i) ) continue;
+            flops += (long) (dim - 1 - i) * (2 * (dim + 1 - i) + 1);   // division and axpy per row
+
+            // Handle every row below row #i (rows are independent - may go in parallel)
+            if (pool == null)
+                eliminate(i, i + 1, dim);
+            else {
+                int pivot = i;
+                ParallelRows.run(pool, i + 1, dim, dim + 1 - i, (from, to) -> eliminate(pivot, from, to));
+            }
+
+            printMatrix("Iteration", i+1);
+        }
+        // End of matrix transformation
+
+        Solution.Status status = checkResults();
+        if (status != Solution.Status.UNIQUE) return noResult(status);
+
+        return result(backSubstitution());
+    }
+
+    // Calculate results from triangular matrix
+    protected double[] backSubstitution() {
+        double[] x = new double[dim];
+
+        for(int i=dim-1; i>=0; i--){
+            double s = 0;
+            for(int j = i; j<dim; j++)
+                s += a[i][j] * x[j];
+            x[i] = (a[i][dim] - s) / a[i][i];
+            flops += 2 * (dim - i) + 2;
+        }
+        return x;
+    }
+
+    // Subtract row #i from rows from..to-1
+    private void eliminate(int i, int from, int to) {
+        RowKernels kernels = RowKernels.get();
+        double c = a[i][i];
+        for (int row = from; row < to; row++) {
+            double f = a[row][i] / c;                   // one division per row, not per element
+            if (f != 0)
+                kernels.axpy(a[row], 0, a[i], 0, -f, i, dim+1);   // columns left of #i are already zero
+        }
+    }
+}
+// === End of Gauss method class ===
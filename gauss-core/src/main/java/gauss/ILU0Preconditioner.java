@@ -0,0 +1,73 @@
+package gauss;
+
+import java.util.Arrays;
+
+// === Incomplete LU preconditioner ILU(0) ===
+// Gauss elimination which keeps only the elements in nonzero positions of A,
+// so L and U have the same pattern and take as much memory as A itself.
+// L (unit diagonal) and U are stored together in the CSR arrays of A.
+public final class ILU0Preconditioner implements Preconditioner {
+    private final int n;
+    private final int[] rowPtr, colIdx;
+    private final int[] diag;                           // position of a[i][i] in row #i
+    private final double[] lu;
+
+    public ILU0Preconditioner(SparseMatrix a) {
+        n = a.getRows();
+        if (a.getCols() != n)
+            throw new IllegalArgumentException("Matrix " + n + "x" + a.getCols() + " is not square");
+        rowPtr = a.rowPtr;                              // pattern is shared, values are copied
+        colIdx = a.colIdx;
+        lu = a.values.clone();
+
+        diag = new int[n];
+        for (int i = 0; i < n; i++) {
+            diag[i] = -1;
+            for (int p = rowPtr[i]; p < rowPtr[i + 1]; p++)
+                if (colIdx[p] == i) diag[i] = p;
+            if (diag[i] < 0)
+                throw new IllegalArgumentException("No diagonal element in row " + i);
+        }
+        decompose();
+    }
+
+    private void decompose() {
+        int[] where = new int[n];                       // position of column in current row, -1 - not in pattern
+        Arrays.fill(where, -1);
+        for (int i = 0; i < n; i++) {
+            for (int p = rowPtr[i]; p < rowPtr[i + 1]; p++)
+                where[colIdx[p]] = p;
+
+            for (int p = rowPtr[i]; p < diag[i]; p++) { // columns k < i, ascending
+                int k = colIdx[p];
+                double l = lu[p] / lu[diag[k]];
+                lu[p] = l;
+                for (int q = diag[k] + 1; q < rowPtr[k + 1]; q++) {
+                    int w = where[colIdx[q]];
+                    if (w >= 0) lu[w] -= l * lu[q];     // fill-in outside the pattern is dropped
+                }
+            }
+            if (Math.abs(lu[diag[i]]) < Double.MIN_NORMAL)
+                throw new IllegalArgumentException("Zero pivot of ILU(0) in row " + i);
+
+            for (int p = rowPtr[i]; p < rowPtr[i + 1]; p++)
+                where[colIdx[p]] = -1;
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        for (int i = 0; i < n; i++) {                   // L*y = r
+            double s = r[i];
+            for (int p = rowPtr[i]; p < diag[i]; p++)
+                s -= lu[p] * z[colIdx[p]];
+            z[i] = s;
+        }
+        for (int i = n - 1; i >= 0; i--) {              // U*z = y
+            double s = z[i];
+            for (int p = diag[i] + 1; p < rowPtr[i + 1]; p++)
+                s -= lu[p] * z[colIdx[p]];
+            z[i] = s / lu[diag[i]];
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package gauss;
+
+// === Incremental Gauss-Jordan elimination: equations are added one at a time ===
+// Every new equation is reduced at once against the rows reduced before, so the work is
+// spread over the arrival of the data, O(n * rank) per equation. Reduced rows are kept in
+// reduced row echelon form: every pivot row has 1 in its pivot column and zeros in the
+// pivot columns of the other rows, as after Gauss-Jordan method.
+// A new row is cleared in the known pivot columns; its biggest remaining element becomes a
+// new pivot (partial pivoting along the row, all rows of a column are not known yet), and
+// the new pivot column is cleared in the earlier rows. If all remaining elements are below
+// EPS the equation is a combination of the earlier ones: 0 = 0 or, if |b| > EPS, 0 = c.
+// Rank and consistency are known after every equation; the solution as soon as rank is n.
+// Not thread-safe: one thread adds equations (and may ask for the solution between them).
+public class IncrementalSolver {
+    private final int dim;
+    private final double[][] pivots;                    // [col] - reduced row with pivot in col, or null
+    private final int[] order;                          // pivot columns in order of appearance
+    private int rank;
+    private int equations;
+    private int redundant;                              // equations reduced to 0 = 0
+    private int inconsistent = -1;                      // index of first equation reduced to 0 = c, -1 - none
+
+    public IncrementalSolver(int dim) {
+        if (dim < 0)
+            throw new IllegalArgumentException("Negative number of unknowns: " + dim);
+        this.dim = dim;
+        this.pivots = new double[dim][];
+        this.order = new int[dim];
+    }
+
+    public int getDimension() {
+        return dim;
+    }
+
+    // Equation 'coefs' * x = 'rhs'; arrays are not kept
+    public void add(double[] coefs, double rhs) {
+        if (coefs.length != dim)
+            throw new IllegalArgumentException("Equation must have " + dim + " coefs");
+        double[] row = new double[dim + 1];
+        System.arraycopy(coefs, 0, row, 0, dim);
+        row[dim] = rhs;
+        reduce(row);
+    }
+
+    // Row of augmented matrix [A|b]
+    public void add(double[] row) {
+        if (row.length != dim + 1)
+            throw new IllegalArgumentException("Row must have " + (dim + 1) + " coefs");
+        reduce(row.clone());
+    }
+
+    private void reduce(double[] row) {
+        int index = equations++;
+        RowKernels kernels = RowKernels.get();
+        for (int p = 0; p < rank; p++) {                // clear known pivot columns
+            int col = order[p];
+            double f = row[col];
+            if (f != 0) {
+                kernels.axpy(row, 0, pivots[col], 0, -f, 0, dim + 1);
+                row[col] = 0;                           // exactly
+            }
+        }
+
+        int colPivot = -1;                              // find max element in the rest of row
+        double max = 0;
+        for (int col = 0; col < dim; col++)
+            if (pivots[col] == null && Math.abs(row[col]) > max) {
+                max = Math.abs(row[col]);
+                colPivot = col;
+            }
+
+        if (max < SolveMethod.EPS) {                    // only zeros left: 0 = b
+            if (Math.abs(row[dim]) > SolveMethod.EPS) {
+                if (inconsistent < 0)
+                    inconsistent = index;
+            } else
+                redundant++;
+            return;
+        }
+
+        kernels.scale(row, 0, 1 / row[colPivot], 0, dim + 1);
+        row[colPivot] = 1;
+        for (int p = 0; p < rank; p++) {                // clear new pivot column in earlier rows
+            double[] earlier = pivots[order[p]];
+            double f = earlier[colPivot];
+            if (f != 0) {
+                kernels.axpy(earlier, 0, row, 0, -f, 0, dim + 1);
+                earlier[colPivot] = 0;
+            }
+        }
+        pivots[colPivot] = row;
+        order[rank++] = colPivot;
+    }
+
+    // Equations added so far
+    public int getEquationCount() {
+        return equations;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    // Equations which were linear combinations of earlier ones
+    public int getRedundantCount() {
+        return redundant;
+    }
+
+    public boolean isConsistent() {
+        return inconsistent < 0;
+    }
+
+    // Index of first equation which contradicted the earlier ones, -1 - none
+    public int getFirstInconsistent() {
+        return inconsistent;
+    }
+
+    // Rank is n and no contradiction: the solution is unique (more equations can only confirm it or break it)
+    public boolean isDetermined() {
+        return rank == dim && isConsistent();
+    }
+
+    // Status of the system of equations added so far, as checkResults of SolveMethod
+    public Solution.Status getStatus() {
+        if (!isConsistent())
+            return Solution.Status.INCONSISTENT;
+        return rank == dim ? Solution.Status.UNIQUE : Solution.Status.GENERAL;
+    }
+
+    // Solution for the equations added so far, x is null unless the status is UNIQUE.
+    // The rows are already reduced, so it is just the column of b: O(n)
+    public Solution solve() {
+        Solution.Status status = getStatus();
+        if (status != Solution.Status.UNIQUE)
+            return new Solution(null, rank, status);
+
+        double[] x = new double[dim];
+        for (int col = 0; col < dim; col++)
+            x[col] = pivots[col][dim];
+        return new Solution(x, rank, status);
+    }
+}
@@ -0,0 +1,168 @@
+package gauss;
+
+import java.util.Arrays;
+
+// === Common class of iterative methods ===
+// A is kept in CSR form, only products A*x are needed. Iterations stop when the
+// relative residual |b - A*x| / |b| drops below the tolerance or after the limit of iterations.
+public abstract class IterativeMethod extends SolveMethod {
+    public static final double DEFAULT_TOLERANCE = 1e-10;
+    public static final int DEFAULT_MAX_ITERATIONS = 1000;
+
+    protected SparseMatrix matrix;
+    protected double[] b;
+    protected Preconditioner preconditioner;            // null - no preconditioning
+
+    private double tolerance = DEFAULT_TOLERANCE;
+    private int maxIterations = DEFAULT_MAX_ITERATIONS;
+    private double[] initialGuess;                      // null - start from zero
+    private double[] history = new double[0];
+    private int count;                                  // residuals in history
+    private double bNorm;
+    private double[] lastIterate;
+
+    // Augmented matrix [A|b], as direct methods
+    protected void initMethod(String name, double[][] source) {
+        super.initMethod(name, source);
+        matrix = SparseMatrix.fromDense(a, dim);
+        b = new double[dim];
+        for (int i = 0; i < dim; i++)
+            b[i] = a[i][dim];
+    }
+
+    protected void initMethod(String name, SparseMatrix matrix, double[] b) {
+        int n = matrix.getRows();
+        if (matrix.getCols() != n)
+            throw new IllegalArgumentException("Matrix " + n + "x" + matrix.getCols() + " is not square");
+        if (b.length != n)
+            throw new IllegalArgumentException("Length of b (" + b.length + ") differs from number of equations (" + n + ")");
+        super.initMethod(name, n);
+        this.matrix = matrix;
+        this.b = b.clone();
+    }
+
+    public void setTolerance(double tolerance) {
+        if (!(tolerance > 0))
+            throw new IllegalArgumentException("Tolerance must be positive: " + tolerance);
+        this.tolerance = tolerance;
+    }
+
+    public void setMaxIterations(int maxIterations) {
+        if (maxIterations < 0)
+            throw new IllegalArgumentException("Negative limit of iterations: " + maxIterations);
+        this.maxIterations = maxIterations;
+    }
+
+    public void setPreconditioner(Preconditioner preconditioner) {
+        this.preconditioner = preconditioner;
+    }
+
+    public void setInitialGuess(double[] x0) {
+        if (x0 != null && x0.length != dim)
+            throw new IllegalArgumentException("Initial guess must have " + dim + " elements");
+        this.initialGuess = x0 == null ? null : x0.clone();
+    }
+
+    public SparseMatrix getMatrix() {
+        return matrix;
+    }
+
+    // Relative residuals: [0] - of the initial guess, [k] - after iteration #k
+    public double[] getResidualHistory() {
+        return Arrays.copyOf(history, count);
+    }
+
+    public int getIterations() {
+        return Math.max(count - 1, 0);
+    }
+
+    // Last approximation, also when the iterations did not converge
+    public double[] getLastIterate() {
+        return lastIterate == null ? null : lastIterate.clone();
+    }
+
+    @Override
+    public Solution doMethod() {
+        printSource();
+
+        double[] x = initialGuess != null ? initialGuess.clone() : new double[dim];
+        count = 0;
+        bNorm = norm(b);
+        if (bNorm == 0) {                               // homogeneous system: x = 0
+            Arrays.fill(x, 0);
+            bNorm = 1;
+        }
+        boolean converged = iterate(x);
+        lastIterate = x;
+
+        if (!converged) {
+            print(Solution.Status.NOT_CONVERGED.getInfo() + " in " + getIterations() + " iterations\n");
+            return noResult(Solution.Status.NOT_CONVERGED);
+        }
+        print("Converged in " + getIterations() + " iterations\n");
+        Arrays.fill(okLines, true);                     // A is taken as nonsingular
+        return result(x);
+    }
+
+    // Run the iterations on x; true - converged
+    protected abstract boolean iterate(double[] x);
+
+    // Store residual norm of next iteration; true - tolerance is reached
+    protected boolean record(double residualNorm) {
+        if (count == history.length)
+            history = Arrays.copyOf(history, Math.max(16, count * 2));
+        double relative = residualNorm / bNorm;
+        history[count++] = relative;
+        flops += 2L * matrix.getNonZeros();             // one product A*x per iteration
+        progress(count - 1, maxIterations);
+        if (isTracing() && count > 1)
+            print("Iteration #" + (count - 1) + ": residual " + relative + "\n");
+        return relative <= tolerance;
+    }
+
+    protected boolean isConverged(double residualNorm) {
+        return residualNorm / bNorm <= tolerance;
+    }
+
+    protected boolean hasIterations() {
+        return count - 1 < maxIterations;
+    }
+
+    // r = b - A*x
+    protected void residual(double[] x, double[] r) {
+        matrix.multiply(x, r);
+        for (int i = 0; i < dim; i++)
+            r[i] = b[i] - r[i];
+    }
+
+    // max |b - A*x| of the sparse system
+    @Override
+    protected double residualNorm(double[] x) {
+        double[] r = new double[dim];
+        residual(x, r);
+        double max = 0;
+        for (double v : r)
+            max = Math.max(max, Math.abs(v));
+        return max;
+    }
+
+    // z = M^-1 * r
+    protected void precondition(double[] r, double[] z) {
+        if (preconditioner != null)
+            preconditioner.apply(r, z);
+        else
+            System.arraycopy(r, 0, z, 0, dim);
+    }
+
+    protected static double dot(double[] x, double[] y) {
+        double s = 0;
+        for (int i = 0; i < x.length; i++)
+            s += x[i] * y[i];
+        return s;
+    }
+
+    protected static double norm(double[] x) {
+        return Math.sqrt(dot(x, x));
+    }
+}
+// === End of common class of iterative methods ===
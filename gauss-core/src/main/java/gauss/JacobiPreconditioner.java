@@ -0,0 +1,21 @@
+package gauss;
+
+// === Jacobi (diagonal) preconditioner: M = diag(A) ===
+public final class JacobiPreconditioner implements Preconditioner {
+    private final double[] inverse;                     // 1 / a[i][i], 1 for zero diagonal
+
+    public JacobiPreconditioner(SparseMatrix a) {
+        int n = a.getRows();
+        inverse = new double[n];
+        for (int i = 0; i < n; i++) {
+            double d = a.get(i, i);
+            inverse[i] = d != 0 ? 1 / d : 1;
+        }
+    }
+
+    @Override
+    public void apply(double[] r, double[] z) {
+        for (int i = 0; i < inverse.length; i++)
+            z[i] = r[i] * inverse[i];
+    }
+}
@@ -0,0 +1,57 @@
+package gauss;
+
+// === Gauss-Jordan method class ===
+public class JordanMethod extends SolveMethod {
+    public JordanMethod(double[][] source) {
+        super.initMethod("Gauss-Jordan method", source);
+    }
+
+    // Augmented matrix dim x dim+1 in flat row-major array
+    public JordanMethod(double[] source, int dim) {
+        super.initMethod("Gauss-Jordan method", source, dim);
+    }
+
+    @Override
+    public Solution doMethod() {
+        printSource();
+
+        // Matrix transformation
+        for (int i = 0; i < dim; i++) {
+            progress(i, dim);
+            if ( !pivoting(i) ) continue;
+            flops += dim + 2 + 2L * (dim - 1) * (dim + 1 - i);      // scaling, then axpy for every other row
+
+            // Divide elements of row a[rowCur] to diagonal element from this row
+            RowKernels.get().scale(a[i], 0, 1 / a[i][i], 0, dim + 1);
+            a[i][i] = 1;                                // exactly, the result is read right from column #dim
+
+            // Handle every row exept row #i (rows are independent - may go in parallel)
+            if (pool == null)
+                eliminate(i, 0, dim);
+            else {
+                int pivot = i;
+                ParallelRows.run(pool, 0, dim, dim + 1 - i, (from, to) -> eliminate(pivot, from, to));
+            }
+
+            printMatrix("Iteration", i+1);
+        }
+        // End of matrix transformation
+
+        Solution.Status status = checkResults();
+        if (status != Solution.Status.UNIQUE) return noResult(status);
+
+        double[] x = new double[dim];
+        for (int i = 0; i < dim; i++)
+            x[i] = a[i][dim];
+        return result(x);
+    }
+
+    // Subtract row #i from rows from..to-1 except row #i itself
+    private void eliminate(int i, int from, int to) {
+        RowKernels kernels = RowKernels.get();
+        for (int row = from; row < to; row++)
+            if (row != i && a[row][i] != 0)
+                kernels.axpy(a[row], 0, a[i], 0, -a[row][i], i, dim+1);
+    }
+}
+// === End of Gauss-Jordan method class ===
@@ -0,0 +1,390 @@
+package gauss;
+
+import java.util.concurrent.ForkJoinPool;
+
+// === Blocked LU decomposition with partial pivoting (P*A = L*U) ===
+// Matrix is kept in one contiguous row-major array: element (i,j) is lu[i*n + j].
+// Right-looking algorithm: a panel of BLOCK columns is factored, then the block row
+// of U is solved and the trailing submatrix is updated tile by tile.
+// With a ForkJoinPool the row updates of the panel, the block row and the trailing
+// update are split across the pool; the results are identical to the sequential run.
+// A factored object is immutable: it may be kept and used to solve for any number of
+// right-hand sides, O(n^2) per vector, from any number of threads at once.
+public class LUDecomposition {
+    public static final int BLOCK = 64;                 // panel width: BLOCK doubles of a row of L fit in L1
+    public static final int TILE = 256;                 // trailing update columns: BLOCK x TILE piece of U (128 KB) stays in L2
+    public static final int RHS_TILE = 64;              // right-hand sides solved together in block solve
+
+    protected final int n;
+    protected final double[] lu;                        // unit L below diagonal, U on and above it
+    protected final int[] piv;                          // row #k was transposed with row #piv[k]
+    protected final boolean[] okLines;                  // same meaning as in SolveMethod
+    private ForkJoinPool pool;                          // used only while factoring, null - sequential
+    private double minPivot = Double.NaN;               // smallest max-in-column, see SolveMetrics
+
+    // Factor a copy of 'a' (n x n, row-major), source array is not changed
+    public static LUDecomposition factor(double[] a, int n) {
+        return new LUDecomposition(a.clone(), n, null);
+    }
+
+    // Factor 'a' in place (no copy, 'a' is overwritten by L and U)
+    public static LUDecomposition factorInPlace(double[] a, int n) {
+        return new LUDecomposition(a, n, null);
+    }
+
+    // Parallel factorization in given pool (null - sequential)
+    public static LUDecomposition factorInPlace(double[] a, int n, ForkJoinPool pool) {
+        return new LUDecomposition(a, n, pool);
+    }
+
+    public static LUDecomposition factor(double[] a, int n, ForkJoinPool pool) {
+        return new LUDecomposition(a.clone(), n, pool);
+    }
+
+    public static LUDecomposition factor(double[][] a) {
+        return factor(a, null);
+    }
+
+    public static LUDecomposition factor(double[][] a, ForkJoinPool pool) {
+        return new LUDecomposition(toFlat(a), a.length, pool);
+    }
+
+    // The whole factorization is done in constructor: all arrays are reachable through
+    // final fields, so a factored object can be shared between threads without locking
+    protected LUDecomposition(double[] a, int n, ForkJoinPool pool) {
+        if (a.length < (long) n * n)
+            throw new IllegalArgumentException("Array of " + a.length + " elements can't hold " + n + "x" + n + " matrix");
+        this.n = n;
+        this.lu = a;
+        this.piv = new int[n];
+        this.okLines = new boolean[n];
+        this.pool = pool;
+        decompose();
+        this.pool = null;
+    }
+
+    // Copy square jagged matrix into row-major flat array
+    public static double[] toFlat(double[][] a) {
+        int n = a.length;
+        double[] flat = new double[n * n];
+        for (int i = 0; i < n; i++) {
+            if (a[i].length < n)
+                throw new IllegalArgumentException("Matrix is not square: row " + i + " has " + a[i].length + " coefs");
+            System.arraycopy(a[i], 0, flat, i * n, n);
+        }
+        return flat;
+    }
+
+    private void decompose() {
+        for (int k0 = 0; k0 < n; k0 += BLOCK) {
+            int k1 = Math.min(k0 + BLOCK, n);
+            int kFrom = k0, kTo = k1;
+            factorPanel(k0, k1);
+            if (k1 < n) {
+                ParallelRows.run(pool, k1, n, (k1 - k0) * (k1 - k0) / 2, (from, to) -> solveBlockRow(kFrom, kTo, from, to));
+                ParallelRows.run(pool, k1, n, (k1 - k0) * (n - k1), (from, to) -> updateTrailing(kFrom, kTo, from, to));
+            }
+        }
+    }
+
+    // Partial pivoting realization, same rule as SolveMethod.pivoting
+    protected boolean pivoting(int k) {
+        int rowPivot = k;                               // find max element in column
+        double max = Math.abs(lu[k * n + k]);           // down from current
+        for (int row = k + 1; row < n; row++) {
+            double v = Math.abs(lu[row * n + k]);
+            if (v > max) {
+                max = v;
+                rowPivot = row;
+            }
+        }
+
+        piv[k] = rowPivot;
+        if (!(max >= minPivot))                         // NaN at first
+            minPivot = max;
+        if (max < SolveMethod.EPS)                      // only zeros in column below
+            return false;
+
+        okLines[k] = true;
+        if (rowPivot != k)
+            swapRows(k, rowPivot);
+        return true;
+    }
+
+    // Whole rows are transposed: left part (L) and right part (not yet processed) together
+    private void swapRows(int r1, int r2) {
+        int o1 = r1 * n, o2 = r2 * n;
+        for (int col = 0; col < n; col++) {
+            double buf = lu[o1 + col];
+            lu[o1 + col] = lu[o2 + col];
+            lu[o2 + col] = buf;
+        }
+    }
+
+    // Unblocked elimination of columns k0..k1-1, only panel columns are updated
+    private void factorPanel(int k0, int k1) {
+        for (int k = k0; k < k1; k++) {
+            int rowK = k * n;
+            if (!pivoting(k)) {
+                for (int row = k + 1; row < n; row++)   // column wasn't eliminated - zero multipliers
+                    lu[row * n + k] = 0;
+                piv[k] = k;
+                continue;
+            }
+
+            int kCur = k;
+            ParallelRows.run(pool, k + 1, n, k1 - k, (from, to) -> eliminate(kCur, k1, from, to));
+        }
+    }
+
+    // Eliminate column k from rows from..to-1, panel columns up to k1-1 are updated
+    private void eliminate(int k, int k1, int from, int to) {
+        int rowK = k * n;
+        double c = lu[rowK + k];
+        for (int row = from; row < to; row++) {
+            int r = row * n;
+            double l = lu[r + k] / c;
+            lu[r + k] = l;
+            if (l != 0)
+                axpy(lu, r, rowK, -l, k + 1, k1);
+        }
+    }
+
+    // U12 = inv(L11) * A12: rows k0..k1-1, columns colFrom..colTo-1 (independent of each other)
+    private void solveBlockRow(int k0, int k1, int colFrom, int colTo) {
+        for (int k = k0 + 1; k < k1; k++) {
+            int rowK = k * n;
+            for (int p = k0; p < k; p++) {
+                double l = lu[rowK + p];
+                if (l == 0) continue;
+                axpy(lu, rowK, p * n, -l, colFrom, colTo);
+            }
+        }
+    }
+
+    // A22 -= L21 * U12 for rows rowFrom..rowTo-1 (independent of each other), tiles of TILE columns
+    protected void updateTrailing(int k0, int k1, int rowFrom, int rowTo) {
+        for (int j0 = k1; j0 < n; j0 += TILE) {
+            int j1 = Math.min(j0 + TILE, n);
+            for (int row = rowFrom; row < rowTo; row++) {
+                int r = row * n;
+                for (int p = k0; p < k1; p++) {
+                    double l = lu[r + p];
+                    if (l == 0) continue;
+                    axpy(lu, r, p * n, -l, j0, j1);
+                }
+            }
+        }
+    }
+
+    // y[col] += alpha * x[col] for col in from..to-1, rows 'y' and 'x' start at given offsets
+    static void axpy(double[] a, int y, int x, double alpha, int from, int to) {
+        RowKernels.get().axpy(a, y, a, x, alpha, from, to);
+    }
+
+    public int getDimension() {
+        return n;
+    }
+
+    public int getRank() {
+        int rank = 0;
+        for (int k = 0; k < n; k++)
+            if (okLines[k]) rank++;
+        return rank;
+    }
+
+    public boolean isNonsingular() {
+        return getRank() == n;
+    }
+
+    // Smallest max-in-column met by pivoting, NaN for empty matrix
+    public double getMinPivot() {
+        return minPivot;
+    }
+
+    // Number of row transpositions made by pivoting
+    public int getSwaps() {
+        int swaps = 0;
+        for (int k = 0; k < n; k++)
+            if (piv[k] != k) swaps++;
+        return swaps;
+    }
+
+    // Solve A*x = b; 'b' is not changed
+    public Solution solve(double[] b) {
+        double[] x = new double[n];
+        Solution.Status status = solve(b, x);
+        if (status != Solution.Status.UNIQUE)
+            return new Solution(null, getRank(), status);
+        return new Solution(x, n, status);
+    }
+
+    // Solve A*x = b into given array 'x' (may be 'b' itself), nothing is allocated.
+    // 'x' holds the solution only if UNIQUE is returned.
+    public Solution.Status solve(double[] b, double[] x) {
+        if (b.length != n || x.length != n)
+            throw new IllegalArgumentException("Length of b (" + b.length + ") or x (" + x.length + ") differs from dimension (" + n + ")");
+
+        if (x != b)
+            System.arraycopy(b, 0, x, 0, n);
+        for (int k = 0; k < n; k++) {                   // x = P*b
+            double buf = x[k];
+            x[k] = x[piv[k]];
+            x[piv[k]] = buf;
+        }
+
+        for (int i = 1; i < n; i++) {                   // L*y = P*b
+            int r = i * n;
+            double s = 0;
+            for (int j = 0; j < i; j++)
+                s += lu[r + j] * x[j];
+            x[i] -= s;
+        }
+
+        Solution.Status status = checkResults(x, 0, 1);
+        if (status != Solution.Status.UNIQUE)
+            return status;
+
+        for (int i = n - 1; i >= 0; i--) {             // U*x = y
+            int r = i * n;
+            double s = 0;
+            for (int j = i + 1; j < n; j++)
+                s += lu[r + j] * x[j];
+            x[i] = (x[i] - s) / lu[r + i];
+        }
+        return status;
+    }
+
+    // Solve A^T*x = c in place, A must be nonsingular: U^T*z = c, L^T*y = z, x = P^T*y
+    void solveTranspose(double[] x) {
+        for (int i = 0; i < n; i++) {                   // U^T by rows of U
+            int r = i * n;
+            double xi = x[i] / lu[r + i];
+            x[i] = xi;
+            for (int j = i + 1; j < n; j++)
+                x[j] -= lu[r + j] * xi;
+        }
+        for (int i = n - 1; i > 0; i--) {              // L^T by rows of L
+            int r = i * n;
+            double xi = x[i];
+            for (int j = 0; j < i; j++)
+                x[j] -= lu[r + j] * xi;
+        }
+        for (int k = n - 1; k >= 0; k--) {              // transpositions in reverse order
+            double buf = x[k];
+            x[k] = x[piv[k]];
+            x[piv[k]] = buf;
+        }
+    }
+
+    // Solve for many right-hand sides at once, one Solution per vector
+    public Solution[] solve(double[][] bs) {
+        int m = bs.length;
+        double[] block = new double[n * m];             // n x m, column #c is bs[c]
+        for (int c = 0; c < m; c++) {
+            if (bs[c].length != n)
+                throw new IllegalArgumentException("Length of b #" + c + " (" + bs[c].length + ") differs from dimension (" + n + ")");
+            for (int i = 0; i < n; i++)
+                block[i * m + c] = bs[c][i];
+        }
+
+        Solution.Status[] statuses = new Solution.Status[m];
+        forward(block, m, 0, m);
+        boolean all = true;
+        for (int c = 0; c < m; c++) {
+            statuses[c] = checkResults(block, c, m);
+            all &= statuses[c] == Solution.Status.UNIQUE;
+        }
+        if (all)
+            backward(block, m, 0, m);
+
+        Solution[] solutions = new Solution[m];
+        for (int c = 0; c < m; c++) {
+            if (statuses[c] != Solution.Status.UNIQUE) {
+                solutions[c] = new Solution(null, getRank(), statuses[c]);
+                continue;
+            }
+            double[] x = new double[n];
+            for (int i = 0; i < n; i++)
+                x[i] = block[i * m + c];
+            solutions[c] = new Solution(x, n, statuses[c]);
+        }
+        return solutions;
+    }
+
+    // Solve A*X = B for a block of m right-hand sides: B is n x m row-major, result is n x m
+    public double[] solveBlock(double[] b, int m) {
+        return solveBlockInPlace(b.clone(), m, null);
+    }
+
+    // Solve A*X = B in place ('b' is overwritten by X), column tiles go in parallel in given pool
+    public double[] solveBlockInPlace(double[] b, int m, ForkJoinPool pool) {
+        if (b.length != n * m)
+            throw new IllegalArgumentException("Block of " + b.length + " elements is not " + n + "x" + m);
+        if (!isNonsingular())
+            throw new IllegalStateException("Matrix is singular (rank " + getRank() + " of " + n + "), solve columns one by one");
+
+        int tiles = (m + RHS_TILE - 1) / RHS_TILE;
+        ParallelRows.run(pool, 0, tiles, n * Math.min(m, RHS_TILE) * n, (from, to) -> {
+            int c1 = Math.min(to * RHS_TILE, m);
+            forward(b, m, from * RHS_TILE, c1);
+            backward(b, m, from * RHS_TILE, c1);
+        });
+        return b;
+    }
+
+    // Row transpositions and L*Y = P*B for columns c0..c1-1 of n x m block
+    private void forward(double[] b, int m, int c0, int c1) {
+        for (int k = 0; k < n; k++) {
+            int p = piv[k];
+            if (p == k) continue;
+            for (int c = c0; c < c1; c++) {
+                double buf = b[k * m + c];
+                b[k * m + c] = b[p * m + c];
+                b[p * m + c] = buf;
+            }
+        }
+
+        for (int i = 1; i < n; i++) {
+            int r = i * n;
+            for (int j = 0; j < i; j++) {
+                double l = lu[r + j];
+                if (l == 0) continue;
+                int yi = i * m, yj = j * m;
+                for (int c = c0; c < c1; c++)
+                    b[yi + c] -= l * b[yj + c];
+            }
+        }
+    }
+
+    // U*X = Y for columns c0..c1-1 of n x m block
+    private void backward(double[] b, int m, int c0, int c1) {
+        for (int i = n - 1; i >= 0; i--) {
+            int r = i * n;
+            int xi = i * m;
+            for (int j = i + 1; j < n; j++) {
+                double u = lu[r + j];
+                if (u == 0) continue;
+                int xj = j * m;
+                for (int c = c0; c < c1; c++)
+                    b[xi + c] -= u * b[xj + c];
+            }
+            double d = lu[r + i];
+            for (int c = c0; c < c1; c++)
+                b[xi + c] /= d;
+        }
+    }
+
+    // The same check as SolveMethod.checkResults for column of y = inv(L)*P*b (element i is y[off + i*stride])
+    private Solution.Status checkResults(double[] y, int off, int stride) {
+        Solution.Status status = Solution.Status.UNIQUE;
+        for (int k = 0; k < n; k++) {
+            if (!okLines[k]) {
+                if (Math.abs(y[off + k * stride]) > SolveMethod.EPS)
+                    return Solution.Status.INCONSISTENT;
+                status = Solution.Status.GENERAL;
+            }
+        }
+        return status;
+    }
+}
@@ -0,0 +1,27 @@
+package gauss;
+
+// === Least-squares solution of overdetermined A*x = b: x minimizes |b - A*x| ===
+public class LeastSquaresSolution extends Solution {
+    private final long rows;
+    private final double residualNorm;
+
+    public LeastSquaresSolution(double[] x, int rank, Status status, long rows, double residualNorm) {
+        super(x, rank, status);
+        this.rows = rows;
+        this.residualNorm = residualNorm;
+    }
+
+    // Equations in the system
+    public long getRows() {
+        return rows;
+    }
+
+    // Euclidean norm |b - A*x| of the minimum; below EPS the system is consistent
+    public double getResidualNorm() {
+        return residualNorm;
+    }
+
+    public boolean isConsistent() {
+        return residualNorm < SolveMethod.EPS;
+    }
+}
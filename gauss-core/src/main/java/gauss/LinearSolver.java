@@ -0,0 +1,348 @@
+package gauss;
+
+import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.ToDoubleFunction;
+
+// === Headless entry point: solves A*x = b without any UI ===
+// Every solve records SolveMetrics (SolveMethod for step-by-step methods, SolveRecorder here
+// for the direct solvers); flops are nominal counts, 0 where there is none (sparse, exact).
+public final class LinearSolver {
+
+    public enum Method {
+        GAUSS,
+        JORDAN,
+        LU,                                             // blocked LU on flat array, no step-by-step output
+        AUTO,                                           // Thomas if A is tridiagonal and dominant, banded LU if banded, else LU
+        CG,                                             // iterative: conjugate gradients, SPD matrices
+        GMRES,                                          // iterative: GMRES(m), any nonsingular matrix
+        SOR,                                            // iterative: Gauss-Seidel / over-relaxation
+        CHOLESKY,                                       // symmetric positive-definite A, LU if it is not
+        MIXED,                                          // LU in float + refinement in double, double LU if it fails
+        EXACT                                           // rational arithmetic by primes, no EPS (ExactSolution)
+    }
+
+    private LinearSolver() {
+    }
+
+    public static Solution solve(double[][] a, double[] b) {
+        return solve(a, b, Method.GAUSS);
+    }
+
+    public static Solution solve(double[][] a, double[] b, Method method) {
+        return solve(a, b, method, (ForkJoinPool) null);
+    }
+
+    // Parallel solve on 'parallelism' threads (1 - sequential)
+    public static Solution solve(double[][] a, double[] b, Method method, int parallelism) {
+        if (parallelism <= 1)
+            return solve(a, b, method);
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return solve(a, b, method, pool);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    // Parallel solve in given pool (null - sequential)
+    public static Solution solve(double[][] a, double[] b, Method method, ForkJoinPool pool) {
+        int n = a.length;
+        ToDoubleFunction<double[]> residual = x -> SolveRecorder.residual(a, b, x);
+        if (method == Method.AUTO) {
+            int[] bw = bandwidth(a);
+            boolean tridiagonal = bw[0] <= 1 && bw[1] <= 1;
+            if (tridiagonal && TridiagonalSolver.isDiagonallyDominant(a)) {     // Thomas is stable without pivoting
+                SolveRecorder recorder = new SolveRecorder("Tridiagonal solver", n);
+                return recorder.finish(TridiagonalSolver.solve(a, b), 8L * n, 0, Double.NaN, residual);
+            }
+            if (tridiagonal || isBanded(n, bw)) {
+                SolveRecorder recorder = new SolveRecorder("Banded LU", n);
+                BandedLU lu = BandedLU.factor(a, bw[0], bw[1]);
+                recorder.factored();
+                return recorder.finish(lu.solve(b), 2L * n * bw[0] * (bw[0] + bw[1] + 2), 0, Double.NaN, residual);
+            }
+            method = Method.LU;
+        }
+        if (method == Method.CHOLESKY) {
+            SolveRecorder recorder = new SolveRecorder("Cholesky decomposition", n);   // dropped if it falls back to LU
+            CholeskyDecomposition ch = isSymmetric(a) ? CholeskyDecomposition.factor(a, pool) : null;
+            if (ch != null) {
+                recorder.factored();
+                return recorder.finish(ch.solve(b), (long) n * n * n / 3 + 2L * n * n, 0, Double.NaN, residual);
+            }
+            method = Method.LU;
+        }
+        if (method == Method.MIXED) {
+            SolveRecorder recorder = new SolveRecorder("Mixed precision LU", n);
+            return recorder.finish(MixedPrecisionSolver.solve(a, b, pool), SolveRecorder.luFlops(n), 0, Double.NaN, residual);
+        }
+        if (method == Method.EXACT) {
+            SolveRecorder recorder = new SolveRecorder("Exact solver", n);
+            return recorder.finish(ExactSolver.solve(a, b, pool), 0, 0, Double.NaN, residual);
+        }
+        if (method == Method.LU) {
+            if (b.length != n)
+                throw new IllegalArgumentException("Length of b (" + b.length + ") differs from number of equations (" + n + ")");
+            SolveRecorder recorder = new SolveRecorder("LU decomposition", n);
+            return recorded(recorder, LUDecomposition.factor(a, pool), b, residual);
+        }
+        SolveMethod solver = create(augment(a, b), method);
+        solver.setPool(pool);
+        return solver.doMethod();
+    }
+
+    // Solve A*x = b, A is n x n row-major flat array
+    public static Solution solve(double[] a, int n, double[] b) {
+        return solve(a, n, b, null);
+    }
+
+    public static Solution solve(double[] a, int n, double[] b, ForkJoinPool pool) {
+        SolveRecorder recorder = new SolveRecorder("LU decomposition", n);
+        return recorded(recorder, LUDecomposition.factor(a, n, pool), b, x -> SolveRecorder.residual(a, n, b, x));
+    }
+
+    // Factoring is timed from the recorder's start, then one substitution
+    private static Solution recorded(SolveRecorder recorder, LUDecomposition lu, double[] b, ToDoubleFunction<double[]> residual) {
+        recorder.factored();
+        return recorder.finish(lu.solve(b), SolveRecorder.luFlops(lu.getDimension()), lu.getSwaps(), lu.getMinPivot(), residual);
+    }
+
+    // Symmetric A given by packed lower triangle (see CholeskyDecomposition): Cholesky, LU if A is not positive definite
+    public static Solution solveSymmetric(double[] lower, int n, double[] b, ForkJoinPool pool) {
+        ToDoubleFunction<double[]> residual = x -> packedResidual(lower, b, x);
+        SolveRecorder recorder = new SolveRecorder("Cholesky decomposition", n);
+        CholeskyDecomposition ch = CholeskyDecomposition.factorPacked(lower, n, pool);
+        if (ch != null) {
+            recorder.factored();
+            return recorder.finish(ch.solve(b), (long) n * n * n / 3 + 2L * n * n, 0, Double.NaN, residual);
+        }
+        recorder = new SolveRecorder("LU decomposition", n);
+        return recorded(recorder, LUDecomposition.factorInPlace(CholeskyDecomposition.unpack(lower, n), n, pool), b, residual);
+    }
+
+    // max |b - A*x| of symmetric A in packed lower triangle
+    private static double packedResidual(double[] lower, double[] b, double[] x) {
+        int n = x.length;
+        double max = 0;
+        for (int i = 0; i < n; i++) {
+            double s = b[i];
+            int ri = CholeskyDecomposition.offset(i);
+            for (int j = 0; j <= i; j++)
+                s -= lower[ri + j] * x[j];
+            for (int j = i + 1; j < n; j++)
+                s -= lower[CholeskyDecomposition.offset(j) + i] * x[j];
+            max = Math.max(max, Math.abs(s));
+        }
+        return max;
+    }
+
+    // Solve augmented system [A|b] mapped from binary file: rows are bulk-copied
+    // straight into the working matrix of LU, nothing is parsed
+    public static Solution solve(BinaryMatrixFile.Mapped augmented) {
+        int n = augmented.getRows();
+        if (augmented.getCols() != n + 1)
+            throw new IllegalArgumentException("Matrix " + n + "x" + augmented.getCols() + " is not an augmented square system");
+
+        SolveRecorder recorder = new SolveRecorder("LU decomposition", n);
+        DoubleBuffer data = augmented.getData();
+        double[] a = new double[n * n];
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++) {
+            data.get(a, i * n, n);
+            b[i] = data.get();
+        }
+        return recorded(recorder, LUDecomposition.factorInPlace(a, n), b, x -> mappedResidual(augmented.getData(), n, x));
+    }
+
+    // max |b - A*x| of augmented [A|b] in a buffer
+    private static double mappedResidual(DoubleBuffer ab, int n, double[] x) {
+        double max = 0;
+        for (int i = 0, r = 0; i < n; i++, r += n + 1) {
+            double s = ab.get(r + n);
+            for (int j = 0; j < n; j++)
+                s -= ab.get(r + j) * x[j];
+            max = Math.max(max, Math.abs(s));
+        }
+        return max;
+    }
+
+    // Solve augmented system [A|b] bigger than the heap: the file is streamed row by row into
+    // 'storage' (memory-mapped scratch file, overwritten by L and U) and factored out of core
+    public static Solution solveOutOfCore(Path augmented, Path storage, ForkJoinPool pool) throws IOException {
+        int[] dims = BinaryMatrixFile.readDimensions(augmented);
+        int n = dims[0];
+        if (dims[1] != n + 1)
+            throw new IllegalArgumentException("Matrix " + n + "x" + dims[1] + " is not an augmented square system");
+
+        double[] b = new double[n];
+        SolveRecorder recorder = new SolveRecorder("Out-of-core LU", n);     // no residual: A is overwritten
+        try (OffHeapMatrix a = OffHeapMatrix.map(storage, n, n, OffHeapMatrix.defaultPanelWidth(n))) {
+            BinaryMatrixFile.forEachRow(augmented, true, (i, row) -> {
+                a.setRow(i, 0, row, 0, n);
+                b[i] = row[n];
+            });
+            OutOfCoreLU lu = OutOfCoreLU.factor(a, pool);
+            recorder.factored();
+            return recorder.finish(lu.solve(b), SolveRecorder.luFlops(n), 0, Double.NaN, null);
+        }
+    }
+
+    // Overdetermined A (m x n, m >= n): x minimizing |b - A*x| by tall-skinny QR
+    public static LeastSquaresSolution solveLeastSquares(double[][] a, double[] b, ForkJoinPool pool) {
+        int n = a.length == 0 ? 0 : a[0].length;
+        SolveRecorder recorder = new SolveRecorder("Tall-skinny QR", n);    // residual is in the solution
+        return recorder.finish(TallSkinnyQR.solve(a, b, pool), 2L * a.length * n * n, 0, Double.NaN, null);
+    }
+
+    // Least squares of augmented [A|b] streamed from binary file, memory depends on columns only
+    public static LeastSquaresSolution solveLeastSquares(Path augmented, ForkJoinPool pool) throws IOException {
+        int[] dims = BinaryMatrixFile.readDimensions(augmented);
+        SolveRecorder recorder = new SolveRecorder("Tall-skinny QR", dims[1] - 1);
+        return recorder.finish(TallSkinnyQR.solve(augmented, pool), 2L * dims[0] * (dims[1] - 1) * (dims[1] - 1), 0, Double.NaN, null);
+    }
+
+    // Sparse system: banded solver if nonzeros are close to diagonal, else sparse LU in reverse Cuthill-McKee order
+    public static Solution solve(SparseMatrix a, double[] b) {
+        int n = a.getRows();
+        ToDoubleFunction<double[]> residual = x -> sparseResidual(a, b, x);
+        int[] bw = a.bandwidth();
+        if (a.getRows() == a.getCols() && isBanded(n, bw)) {
+            SolveRecorder recorder = new SolveRecorder("Banded LU", n);
+            BandedLU lu = BandedLU.factor(a, bw[0], bw[1]);
+            recorder.factored();
+            return recorder.finish(lu.solve(b), 2L * n * bw[0] * (bw[0] + bw[1] + 2), 0, Double.NaN, residual);
+        }
+        SolveRecorder recorder = new SolveRecorder("Sparse LU", n);
+        SparseLU lu = SparseLU.factor(a);
+        recorder.factored();
+        return recorder.finish(lu.solve(b), 0, 0, Double.NaN, residual);
+    }
+
+    // max |b - A*x| of sparse A
+    private static double sparseResidual(SparseMatrix a, double[] b, double[] x) {
+        double[] ax = new double[b.length];
+        a.multiply(x, ax);
+        double max = 0;
+        for (int i = 0; i < b.length; i++)
+            max = Math.max(max, Math.abs(b[i] - ax[i]));
+        return max;
+    }
+
+    // Largest distance of a nonzero from the diagonal of square matrix: {below, above}
+    public static int[] bandwidth(double[][] a) {
+        int n = a.length;
+        int lower = 0, upper = 0;
+        for (int i = 0; i < n; i++) {
+            if (a[i].length < n)
+                throw new IllegalArgumentException("Matrix is not square: row " + i + " has " + a[i].length + " coefs");
+            for (int j = 0; j < i - lower; j++)         // only columns which can widen the band
+                if (a[i][j] != 0) {
+                    lower = i - j;
+                    break;
+                }
+            for (int j = n - 1; j > i + upper; j--)
+                if (a[i][j] != 0) {
+                    upper = j - i;
+                    break;
+                }
+        }
+        return new int[] {lower, upper};
+    }
+
+    public static boolean isSymmetric(double[][] a) {
+        int n = a.length;
+        for (int i = 0; i < n; i++) {
+            if (a[i].length < n)
+                throw new IllegalArgumentException("Matrix is not square: row " + i + " has " + a[i].length + " coefs");
+            for (int j = 0; j < i; j++)
+                if (a[i][j] != a[j][i]) return false;
+        }
+        return true;
+    }
+
+    // Band storage pays off when it is much narrower than the matrix
+    static boolean isBanded(int n, int[] bw) {
+        return (2L * bw[0] + bw[1] + 1) * 4 <= n;
+    }
+
+    // Factor A once, then solve for as many right-hand sides as needed
+    public static LUDecomposition factor(double[][] a) {
+        return LUDecomposition.factor(a);
+    }
+
+    public static LUDecomposition factor(double[][] a, ForkJoinPool pool) {
+        return LUDecomposition.factor(a, pool);
+    }
+
+    // Method instance for augmented matrix [A|b] (dim x dim+1)
+    public static SolveMethod create(double[][] augmented, Method method) {
+        switch (method) {
+            case GAUSS:
+                return new GaussMethod(augmented);
+            case JORDAN:
+                return new JordanMethod(augmented);
+            case CG:
+                return new ConjugateGradientMethod(augmented);
+            case GMRES:
+                return new GMRESMethod(augmented);
+            case SOR:
+                return new SORMethod(augmented);
+            default:
+                throw new IllegalArgumentException(method + " is not a step-by-step method");
+        }
+    }
+
+    // Method instance for augmented matrix dim x dim+1 in flat row-major array (e.g. storage of a table model)
+    public static SolveMethod create(double[] augmented, int dim, Method method) {
+        switch (method) {
+            case GAUSS:
+                return new GaussMethod(augmented, dim);
+            case JORDAN:
+                return new JordanMethod(augmented, dim);
+            default:
+                return create(toRows(augmented, dim), method);
+        }
+    }
+
+    private static double[][] toRows(double[] augmented, int dim) {
+        double[][] rows = new double[dim][];
+        for (int i = 0; i < dim; i++)
+            rows[i] = Arrays.copyOfRange(augmented, i * (dim + 1), (i + 1) * (dim + 1));
+        return rows;
+    }
+
+    // Iterative method for sparse A*x = b; tolerance, limit and preconditioner are set on it before doMethod()
+    public static IterativeMethod createIterative(SparseMatrix a, double[] b, Method method) {
+        switch (method) {
+            case CG:
+                return new ConjugateGradientMethod(a, b);
+            case GMRES:
+                return new GMRESMethod(a, b);
+            case SOR:
+                return new SORMethod(a, b);
+            default:
+                throw new IllegalArgumentException(method + " is not an iterative method");
+        }
+    }
+
+    // Build augmented matrix [A|b]
+    public static double[][] augment(double[][] a, double[] b) {
+        int dim = a.length;
+        if (b.length != dim)
+            throw new IllegalArgumentException("Length of b (" + b.length + ") differs from number of equations (" + dim + ")");
+
+        double[][] ab = new double[dim][dim+1];
+        for (int i = 0; i < dim; i++) {
+            if (a[i].length != dim)
+                throw new IllegalArgumentException("Matrix is not square: row " + i + " has " + a[i].length + " coefs");
+            System.arraycopy(a[i], 0, ab[i], 0, dim);
+            ab[i][dim] = b[i];
+        }
+        return ab;
+    }
+}
@@ -0,0 +1,169 @@
+package gauss;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+// === Mixed-precision solve: LU in float, iterative refinement in double ===
+// x = solve(b) in float, then repeatedly r = b - A*x in double and x += solve(r) in float.
+// Every step gains about 7 digits while cond(A) < ~1e7, so a few steps bring x to double
+// accuracy for the price of one float factorization (n^3/3) and O(n^2) per step.
+// If refinement doesn't reach |r| <= |x|*|A|*eps*sqrt(n) in MAX_ITERATIONS steps (A too
+// ill-conditioned for float), or A doesn't fit in float, the system is solved by double LU.
+public final class MixedPrecisionSolver {
+    public static final int MAX_ITERATIONS = 30;
+    private static final double EPS_DOUBLE = Math.ulp(1.0) / 2;
+
+    private MixedPrecisionSolver() {
+    }
+
+    public static RefinedSolution solve(double[][] a, double[] b, ForkJoinPool pool) {
+        return solve(LUDecomposition.toFlat(a), a.length, b, pool);
+    }
+
+    // A is n x n row-major flat array, not changed
+    public static RefinedSolution solve(double[] a, int n, double[] b, ForkJoinPool pool) {
+        if (b.length != n)
+            throw new IllegalArgumentException("Length of b (" + b.length + ") differs from dimension (" + n + ")");
+
+        double normInf = 0, maxAbs = 0;
+        for (int i = 0; i < n; i++) {
+            double s = 0;
+            for (int j = 0; j < n; j++) {
+                double v = Math.abs(a[i * n + j]);
+                s += v;
+                maxAbs = Math.max(maxAbs, v);
+            }
+            normInf = Math.max(normInf, s);
+        }
+
+        if (maxAbs <= Float.MAX_VALUE) {
+            FloatLUDecomposition f = FloatLUDecomposition.factor(a, n, pool);
+            if (f.isNonsingular()) {
+                RefinedSolution s = refine(a, n, b, f, normInf);
+                if (s != null) return s;
+            }
+        }
+        return solveDouble(a, n, b, pool);
+    }
+
+    // null - no convergence
+    private static RefinedSolution refine(double[] a, int n, double[] b, FloatLUDecomposition f, double normInf) {
+        float[] w = new float[n];
+        double[] x = new double[n];
+        double[] r = b.clone();
+        double limit = normInf * EPS_DOUBLE * Math.sqrt(n);
+
+        for (int it = 0; it <= MAX_ITERATIONS; it++) {
+            if (it > 0) {                               // r = b - A*x in double
+                residual(a, n, b, x, r);
+                double rNorm = normInf(r);
+                if (rNorm <= normInf(x) * limit)
+                    return new RefinedSolution(x, n, Solution.Status.UNIQUE, rNorm, condition(a, n, f), it - 1, true);
+            }
+            for (int i = 0; i < n; i++)                 // x += inv(A)*r in float
+                w[i] = (float) r[i];
+            f.solve(w);
+            for (int i = 0; i < n; i++)
+                x[i] += w[i];
+            if (!Double.isFinite(normInf(x))) return null;
+        }
+        return null;
+    }
+
+    private static RefinedSolution solveDouble(double[] a, int n, double[] b, ForkJoinPool pool) {
+        LUDecomposition lu = LUDecomposition.factor(a, n, pool);
+        Solution s = lu.solve(b);
+        if (!s.isUnique())
+            return new RefinedSolution(null, s.getRank(), s.getStatus(), Double.NaN, Double.POSITIVE_INFINITY, 0, false);
+
+        double[] r = new double[n];
+        residual(a, n, b, s.getX(), r);
+        double cond = norm1(a, n) * estimateInverseNorm1(n, x -> lu.solve(x, x), lu::solveTranspose);
+        return new RefinedSolution(s.getX(), n, s.getStatus(), normInf(r), cond, 0, false);
+    }
+
+    private static double condition(double[] a, int n, FloatLUDecomposition f) {
+        float[] w = new float[n];
+        return norm1(a, n) * estimateInverseNorm1(n, x -> solveFloat(f, w, x, false), x -> solveFloat(f, w, x, true));
+    }
+
+    private static void solveFloat(FloatLUDecomposition f, float[] w, double[] x, boolean transpose) {
+        for (int i = 0; i < x.length; i++)
+            w[i] = (float) x[i];
+        if (transpose)
+            f.solveTranspose(w);
+        else
+            f.solve(w);
+        for (int i = 0; i < x.length; i++)
+            x[i] = w[i];
+    }
+
+    // In-place solve with A or A^T
+    interface InPlaceSolve {
+        void apply(double[] x);
+    }
+
+    // Hager's estimate of |inv(A)|_1 with Higham's extra test vector (as LAPACK xLACON):
+    // a few solves with A and A^T instead of the O(n^3) inverse. Usually exact or within a factor of 3.
+    static double estimateInverseNorm1(int n, InPlaceSolve solve, InPlaceSolve solveTranspose) {
+        if (n == 0) return 0;
+        double[] x = new double[n];
+        Arrays.fill(x, 1.0 / n);
+        double estimate = 0;
+        int last = -1;
+        for (int k = 0; k < 5; k++) {
+            solve.apply(x);                             // y = inv(A)*x
+            double norm = 0;
+            for (double v : x)
+                norm += Math.abs(v);
+            if (k > 0 && norm <= estimate) break;       // no progress
+            estimate = norm;
+
+            for (int i = 0; i < n; i++)                 // z = inv(A)^T * sign(y)
+                x[i] = x[i] >= 0 ? 1 : -1;
+            solveTranspose.apply(x);
+            int j = 0;
+            for (int i = 1; i < n; i++)
+                if (Math.abs(x[i]) > Math.abs(x[j])) j = i;
+            if (j == last) break;
+            last = j;
+            Arrays.fill(x, 0);
+            x[j] = 1;
+        }
+
+        for (int i = 0; i < n; i++)                     // alternating test vector for hard cases
+            x[i] = (i % 2 == 0 ? 1 : -1) * (1 + (n > 1 ? (double) i / (n - 1) : 0));
+        solve.apply(x);
+        double alt = 0;
+        for (double v : x)
+            alt += Math.abs(v);
+        return Math.max(estimate, 2 * alt / (3 * n));
+    }
+
+    // r = b - A*x
+    private static void residual(double[] a, int n, double[] b, double[] x, double[] r) {
+        for (int i = 0; i < n; i++) {
+            double s = b[i];
+            int row = i * n;
+            for (int j = 0; j < n; j++)
+                s -= a[row + j] * x[j];
+            r[i] = s;
+        }
+    }
+
+    private static double normInf(double[] x) {
+        double m = 0;
+        for (double v : x)
+            m = Math.max(m, Math.abs(v));
+        return m;
+    }
+
+    // Max column sum
+    private static double norm1(double[] a, int n) {
+        double[] col = new double[n];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++)
+                col[j] += Math.abs(a[i * n + j]);
+        return normInf(col);
+    }
+}
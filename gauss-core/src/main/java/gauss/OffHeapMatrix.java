@@ -0,0 +1,171 @@
+package gauss;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+// === Dense matrix outside the Java heap: direct memory or memory-mapped file ===
+// Stored by column panels for out-of-core LU: columns are split into panels of
+// 'panelWidth' (the last one padded with zeros), a panel is rows x panelWidth row-major and
+// panels follow each other, so a whole panel is one contiguous range of memory.
+// The range is split into chunks of 1 GB (a buffer can't be bigger than 2 GB), so the size
+// is limited only by address space and disk, not by -Xmx. GC doesn't scan it at all.
+// Native byte order: the file is a scratch storage, not an exchange format (see BinaryMatrixFile).
+public final class OffHeapMatrix implements AutoCloseable {
+    static final int CHUNK_SHIFT = 27;                  // 2^27 doubles = 1 GB per buffer
+    private static final long CHUNK_MASK = (1L << CHUNK_SHIFT) - 1;
+
+    private final int rows, cols, panelWidth, panels;
+    private final DoubleBuffer[] chunks;
+    private final MappedByteBuffer[] mapped;            // null for direct memory
+
+    private OffHeapMatrix(int rows, int cols, int panelWidth, DoubleBuffer[] chunks, MappedByteBuffer[] mapped) {
+        this.rows = rows;
+        this.cols = cols;
+        this.panelWidth = panelWidth;
+        this.panels = (cols + panelWidth - 1) / panelWidth;
+        this.chunks = chunks;
+        this.mapped = mapped;
+    }
+
+    // Zero matrix in direct memory (limited by -XX:MaxDirectMemorySize)
+    public static OffHeapMatrix allocate(int rows, int cols, int panelWidth) {
+        long size = size(rows, cols, panelWidth);
+        int count = chunkCount(size);
+        DoubleBuffer[] chunks = new DoubleBuffer[count];
+        for (int c = 0; c < count; c++) {
+            long len = Math.min(1L << CHUNK_SHIFT, size - ((long) c << CHUNK_SHIFT));
+            chunks[c] = ByteBuffer.allocateDirect((int) len * Double.BYTES).order(ByteOrder.nativeOrder()).asDoubleBuffer();
+        }
+        return new OffHeapMatrix(rows, cols, panelWidth, chunks, null);
+    }
+
+    // Matrix in a file mapped into memory; a new file is zero, an existing one keeps its contents
+    public static OffHeapMatrix map(Path file, int rows, int cols, int panelWidth) throws IOException {
+        long size = size(rows, cols, panelWidth);
+        int count = chunkCount(size);
+        DoubleBuffer[] chunks = new DoubleBuffer[count];
+        MappedByteBuffer[] mapped = new MappedByteBuffer[count];
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            for (int c = 0; c < count; c++) {
+                long pos = (long) c << CHUNK_SHIFT;
+                long len = Math.min(1L << CHUNK_SHIFT, size - pos);
+                mapped[c] = channel.map(FileChannel.MapMode.READ_WRITE, pos * Double.BYTES, len * Double.BYTES);
+                chunks[c] = mapped[c].order(ByteOrder.nativeOrder()).asDoubleBuffer();
+            }
+        }                                               // mapping stays valid after the channel is closed
+        return new OffHeapMatrix(rows, cols, panelWidth, chunks, mapped);
+    }
+
+    // Panel width such that two panels of n rows take about 1/4 of the heap (64..4096, multiple of 64)
+    public static int defaultPanelWidth(int rows) {
+        long budget = Runtime.getRuntime().maxMemory() / 4;
+        long width = budget / (2L * Math.max(rows, 1) * Double.BYTES);
+        return (int) Math.max(64, Math.min(4096, width / 64 * 64));
+    }
+
+    private static long size(int rows, int cols, int panelWidth) {
+        if (rows < 0 || cols < 0 || panelWidth < 1)
+            throw new IllegalArgumentException("Bad matrix " + rows + "x" + cols + " or panel width " + panelWidth);
+        long panels = (cols + panelWidth - 1) / panelWidth;
+        return panels * rows * panelWidth;
+    }
+
+    private static int chunkCount(long size) {
+        return Math.toIntExact((size + CHUNK_MASK) >>> CHUNK_SHIFT);
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getPanelWidth() {
+        return panelWidth;
+    }
+
+    public int getPanels() {
+        return panels;
+    }
+
+    private long index(int row, int col) {
+        return ((long) (col / panelWidth) * rows + row) * panelWidth + col % panelWidth;
+    }
+
+    public double get(int row, int col) {
+        long e = index(row, col);
+        return chunks[(int) (e >>> CHUNK_SHIFT)].get((int) (e & CHUNK_MASK));
+    }
+
+    public void set(int row, int col, double value) {
+        long e = index(row, col);
+        chunks[(int) (e >>> CHUNK_SHIFT)].put((int) (e & CHUNK_MASK), value);
+    }
+
+    // Row #row, columns from..from+count-1, from 'values' starting at 'off'
+    public void setRow(int row, int from, double[] values, int off, int count) {
+        while (count > 0) {                             // piece by piece inside panels
+            int inPanel = Math.min(count, panelWidth - from % panelWidth);
+            transfer(index(row, from), values, off, inPanel, true);
+            from += inPanel;
+            off += inPanel;
+            count -= inPanel;
+        }
+    }
+
+    public void getRow(int row, int from, double[] values, int off, int count) {
+        while (count > 0) {
+            int inPanel = Math.min(count, panelWidth - from % panelWidth);
+            transfer(index(row, from), values, off, inPanel, false);
+            from += inPanel;
+            off += inPanel;
+            count -= inPanel;
+        }
+    }
+
+    // Rows rowFrom..rowTo-1 of panel #p into 'dest' (row-major, panelWidth per row)
+    public void readPanel(int p, int rowFrom, int rowTo, double[] dest) {
+        transfer(((long) p * rows + rowFrom) * panelWidth, dest, 0, (rowTo - rowFrom) * panelWidth, false);
+    }
+
+    public void writePanel(int p, int rowFrom, int rowTo, double[] src) {
+        transfer(((long) p * rows + rowFrom) * panelWidth, src, 0, (rowTo - rowFrom) * panelWidth, true);
+    }
+
+    // Bulk copy of 'count' doubles at element 'e', across chunk borders
+    private void transfer(long e, double[] array, int off, int count, boolean write) {
+        while (count > 0) {
+            DoubleBuffer chunk = chunks[(int) (e >>> CHUNK_SHIFT)];
+            int index = (int) (e & CHUNK_MASK);
+            int len = Math.min(count, chunk.capacity() - index);
+            if (write)
+                chunk.put(index, array, off, len);
+            else
+                chunk.get(index, array, off, len);
+            e += len;
+            off += len;
+            count -= len;
+        }
+    }
+
+    // Write changes of a mapped file to disk
+    public void flush() {
+        if (mapped != null)
+            for (MappedByteBuffer buffer : mapped)
+                buffer.force();
+    }
+
+    // Mapped file is flushed; memory is released when the buffers are collected
+    @Override
+    public void close() {
+        flush();
+    }
+}
@@ -0,0 +1,208 @@
+package gauss;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+
+// === Out-of-core LU decomposition with partial pivoting of an OffHeapMatrix ===
+// Left-looking by column panels: only two panels (n x panelWidth) are on the heap at a time.
+// Panel #p is loaded, the transformations of every finished panel #j < p are applied to it
+// (panel #j is streamed from storage: its row transpositions, U = inv(L_jj)*A, A -= L*U below),
+// then the panel is factored in memory and written back in place of the original columns.
+// Row transpositions are not applied to L of earlier panels: L of panel #j stays in the row
+// order of its own time, so both the updates and the forward solve apply transpositions
+// panel by panel (as LAPACK band LU does). U rows are never moved after their panel is done.
+// Storage is read panelWidth times less often than a row-by-row algorithm would, the page cache
+// of a mapped file does the rest.
+public final class OutOfCoreLU {
+    private final OffHeapMatrix lu;                     // unit L below diagonal, U on and above it
+    private final int n, width;
+    private final int[] piv;                            // row #k was transposed with row #piv[k]
+    private final boolean[] okLines;                    // same meaning as in SolveMethod
+
+    // Factor 'a' in place (its contents are overwritten by L and U)
+    public static OutOfCoreLU factor(OffHeapMatrix a, ForkJoinPool pool) {
+        return factor(a, pool, null);
+    }
+
+    // Monitor gets the number of factored panels, false from it abandons the factorization
+    public static OutOfCoreLU factor(OffHeapMatrix a, ForkJoinPool pool, SolveMethod.Monitor monitor) {
+        if (a.getRows() != a.getCols())
+            throw new IllegalArgumentException("Matrix is not square: " + a.getRows() + "x" + a.getCols());
+        OutOfCoreLU f = new OutOfCoreLU(a);
+        f.decompose(pool, monitor);
+        return f;
+    }
+
+    private OutOfCoreLU(OffHeapMatrix a) {
+        this.lu = a;
+        this.n = a.getRows();
+        this.width = a.getPanelWidth();
+        Math.multiplyExact(n, width);                   // a panel must fit in one heap array
+        this.piv = new int[n];
+        this.okLines = new boolean[n];
+    }
+
+    private void decompose(ForkJoinPool pool, SolveMethod.Monitor monitor) {
+        double[] panel = new double[n * width];
+        double[] left = new double[n * width];
+        int panels = lu.getPanels();
+        for (int p = 0; p < panels; p++) {
+            if (monitor != null && !monitor.step(p, panels))
+                throw new CancellationException("Out-of-core LU was cancelled");
+
+            int k0 = p * width, k1 = Math.min(k0 + width, n);
+            lu.readPanel(p, 0, n, panel);
+            for (int j = 0; j < p; j++) {
+                int j0 = j * width;
+                lu.readPanel(j, j0, n, left);           // L of panel #j is below its top row only
+                applyPanel(j0, j0 + width, k1 - k0, left, panel, pool);
+            }
+            factorPanel(k0, k1, panel, pool);
+            lu.writePanel(p, 0, n, panel);
+        }
+        if (monitor != null)
+            monitor.step(panels, panels);
+    }
+
+    // Transformations of finished panel (columns j0..j1-1, rows from j0 in 'left') to 'panel'
+    // of 'cols' columns: transpositions, U_jp = inv(L_jj) * A_jp, A -= L_j * U_jp below
+    private void applyPanel(int j0, int j1, int cols, double[] left, double[] panel, ForkJoinPool pool) {
+        for (int k = j0; k < j1; k++)
+            if (piv[k] != k)
+                swapRows(panel, k, piv[k]);
+
+        for (int k = j0 + 1; k < j1; k++) {
+            int l = (k - j0) * width - j0;
+            for (int m = j0; m < k; m++)
+                if (left[l + m] != 0)
+                    RowKernels.get().axpy(panel, k * width, panel, m * width, -left[l + m], 0, cols);
+        }
+
+        ParallelRows.run(pool, j1, n, (j1 - j0) * cols, (from, to) -> {
+            for (int row = from; row < to; row++) {
+                int l = (row - j0) * width - j0;
+                for (int m = j0; m < j1; m++)
+                    if (left[l + m] != 0)
+                        RowKernels.get().axpy(panel, row * width, panel, m * width, -left[l + m], 0, cols);
+            }
+        });
+    }
+
+    // Unblocked elimination of columns k0..k1-1 in the panel, pivoting rule of SolveMethod
+    private void factorPanel(int k0, int k1, double[] panel, ForkJoinPool pool) {
+        int cols = k1 - k0;
+        for (int k = k0; k < k1; k++) {
+            int kk = k - k0;
+            int rowPivot = k;                           // find max element in column
+            double max = Math.abs(panel[k * width + kk]);
+            for (int row = k + 1; row < n; row++) {
+                double v = Math.abs(panel[row * width + kk]);
+                if (v > max) {
+                    max = v;
+                    rowPivot = row;
+                }
+            }
+
+            piv[k] = k;
+            if (max < SolveMethod.EPS) {                // column wasn't eliminated - zero multipliers
+                for (int row = k + 1; row < n; row++)
+                    panel[row * width + kk] = 0;
+                continue;
+            }
+            okLines[k] = true;
+            piv[k] = rowPivot;
+            if (rowPivot != k)
+                swapRows(panel, k, rowPivot);
+
+            int rowK = k * width;
+            double c = panel[rowK + kk];
+            ParallelRows.run(pool, k + 1, n, cols - kk, (from, to) -> {
+                for (int row = from; row < to; row++) {
+                    int r = row * width;
+                    double l = panel[r + kk] / c;
+                    panel[r + kk] = l;
+                    if (l != 0)
+                        RowKernels.get().axpy(panel, r, panel, rowK, -l, kk + 1, cols);
+                }
+            });
+        }
+    }
+
+    private void swapRows(double[] panel, int r1, int r2) {
+        int o1 = r1 * width, o2 = r2 * width;
+        for (int col = 0; col < width; col++) {
+            double buf = panel[o1 + col];
+            panel[o1 + col] = panel[o2 + col];
+            panel[o2 + col] = buf;
+        }
+    }
+
+    public int getDimension() {
+        return n;
+    }
+
+    public int getRank() {
+        int rank = 0;
+        for (int k = 0; k < n; k++)
+            if (okLines[k]) rank++;
+        return rank;
+    }
+
+    public boolean isNonsingular() {
+        return getRank() == n;
+    }
+
+    // Solve A*x = b, every panel is read twice; 'b' is not changed
+    public Solution solve(double[] b) {
+        if (b.length != n)
+            throw new IllegalArgumentException("Length of b (" + b.length + ") differs from dimension (" + n + ")");
+
+        double[] x = b.clone();
+        double[] panel = new double[n * width];
+        int panels = lu.getPanels();
+        for (int p = 0; p < panels; p++) {              // L*y = P*b, transpositions panel by panel
+            int k0 = p * width, k1 = Math.min(k0 + width, n);
+            lu.readPanel(p, k0, n, panel);
+            for (int k = k0; k < k1; k++) {
+                double buf = x[k];
+                x[k] = x[piv[k]];
+                x[piv[k]] = buf;
+            }
+            for (int k = k0; k < k1; k++) {
+                double xk = x[k];
+                if (xk == 0) continue;
+                for (int i = k + 1; i < n; i++)
+                    x[i] -= panel[(i - k0) * width + k - k0] * xk;
+            }
+        }
+
+        Solution.Status status = checkResults(x);
+        if (status != Solution.Status.UNIQUE)
+            return new Solution(null, getRank(), status);
+
+        for (int p = panels - 1; p >= 0; p--) {         // U*x = y by columns
+            int k0 = p * width, k1 = Math.min(k0 + width, n);
+            lu.readPanel(p, 0, k1, panel);
+            for (int k = k1 - 1; k >= k0; k--) {
+                double xk = x[k] / panel[k * width + k - k0];
+                x[k] = xk;
+                for (int i = 0; i < k; i++)
+                    x[i] -= panel[i * width + k - k0] * xk;
+            }
+        }
+        return new Solution(x, n, status);
+    }
+
+    // Same rule as checkResults of LUDecomposition
+    private Solution.Status checkResults(double[] y) {
+        Solution.Status status = Solution.Status.UNIQUE;
+        for (int k = 0; k < n; k++) {
+            if (!okLines[k]) {
+                if (Math.abs(y[k]) > SolveMethod.EPS)
+                    return Solution.Status.INCONSISTENT;
+                status = Solution.Status.GENERAL;
+            }
+        }
+        return status;
+    }
+}
@@ -0,0 +1,51 @@
+package gauss;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// === Splits independent row (or column) updates across a ForkJoinPool ===
+// Every element is still updated by one thread in the same order as in the
+// sequential loop, so parallel results are bit-for-bit equal to sequential ones.
+public final class ParallelRows extends RecursiveAction {
+    public static final int MIN_TASK_WORK = 32768;      // elements per task, less is not worth a fork
+    private static final long serialVersionUID = 1L;
+
+    // Update of rows from..to-1
+    public interface Rows {
+        void update(int from, int to);
+    }
+
+    private final int from, to, grain;
+    private final Rows rows;
+
+    private ParallelRows(int from, int to, int grain, Rows rows) {
+        this.from = from;
+        this.to = to;
+        this.grain = grain;
+        this.rows = rows;
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= grain) {
+            rows.update(from, to);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        invokeAll(new ParallelRows(from, mid, grain, rows), new ParallelRows(mid, to, grain, rows));
+    }
+
+    // Rows per task when every row update touches 'width' elements
+    public static int grain(int width) {
+        return Math.max(1, MIN_TASK_WORK / Math.max(1, width));
+    }
+
+    // Run update of rows from..to-1: sequentially without pool or for small ranges, else in parallel
+    public static void run(ForkJoinPool pool, int from, int to, int width, Rows rows) {
+        int grain = grain(width);
+        if (pool == null || to - from <= grain)
+            rows.update(from, to);
+        else
+            pool.invoke(new ParallelRows(from, to, grain, rows));
+    }
+}
@@ -0,0 +1,19 @@
+package gauss;
+
+// === Preconditioner M of iterative methods: z = M^-1 * r ===
+// M should be close to A and cheap to invert; the iterations then work on a better
+// conditioned system and converge in fewer steps.
+public interface Preconditioner {
+
+    void apply(double[] r, double[] z);
+
+    // Diagonal of A
+    static Preconditioner jacobi(SparseMatrix a) {
+        return new JacobiPreconditioner(a);
+    }
+
+    // Incomplete LU with the nonzero pattern of A
+    static Preconditioner ilu0(SparseMatrix a) {
+        return new ILU0Preconditioner(a);
+    }
+}
@@ -0,0 +1,37 @@
+package gauss;
+
+// === Solution of mixed-precision solve with its quality ===
+public class RefinedSolution extends Solution {
+    private final double residualNorm;
+    private final double condition;
+    private final int iterations;
+    private final boolean refined;
+
+    public RefinedSolution(double[] x, int rank, Status status, double residualNorm, double condition, int iterations, boolean refined) {
+        super(x, rank, status);
+        this.residualNorm = residualNorm;
+        this.condition = condition;
+        this.iterations = iterations;
+        this.refined = refined;
+    }
+
+    // |b - A*x| (max norm) of the returned x, computed in double; NaN if there is no x
+    public double getResidualNorm() {
+        return residualNorm;
+    }
+
+    // Estimate of 1-norm condition number |A|*|inv(A)|, infinity for singular A
+    public double getConditionEstimate() {
+        return condition;
+    }
+
+    // Refinement steps made
+    public int getIterations() {
+        return iterations;
+    }
+
+    // true - float factorization with refinement, false - fell back to double LU
+    public boolean isRefined() {
+        return refined;
+    }
+}
@@ -0,0 +1,61 @@
+package gauss;
+
+// === Row operations of elimination: y += alpha*x and y *= alpha on parts of rows ===
+// The vector implementation (jdk.incubator.vector: AVX2 / AVX-512 lanes) is taken when the
+// JVM runs with --add-modules jdk.incubator.vector, otherwise the plain loops are used.
+// -Dgauss.vector=false forces the plain loops. The choice is made once, so the JIT
+// sees a single implementation and inlines it.
+public abstract class RowKernels {
+    private static final RowKernels SCALAR = new ScalarRowKernels();
+    private static final RowKernels INSTANCE = load();
+
+    // Kernels in use
+    public static RowKernels get() {
+        return INSTANCE;
+    }
+
+    // Plain loops (for comparison)
+    public static RowKernels scalar() {
+        return SCALAR;
+    }
+
+    private static RowKernels load() {
+        if (!Boolean.parseBoolean(System.getProperty("gauss.vector", "true"))
+                || !ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent())
+            return SCALAR;
+        try {                                           // the class is not touched without the module
+            return (RowKernels) Class.forName("gauss.VectorRowKernels").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError ex) {
+            return SCALAR;
+        }
+    }
+
+    public abstract String getName();
+
+    // y[yOff+col] += alpha * x[xOff+col] for col in from..to-1
+    public abstract void axpy(double[] y, int yOff, double[] x, int xOff, double alpha, int from, int to);
+
+    // y[off+col] *= alpha for col in from..to-1
+    public abstract void scale(double[] y, int off, double alpha, int from, int to);
+}
+
+// === Plain loops: HotSpot unrolls them and may use SIMD by itself ===
+final class ScalarRowKernels extends RowKernels {
+
+    @Override
+    public String getName() {
+        return "scalar";
+    }
+
+    @Override
+    public void axpy(double[] y, int yOff, double[] x, int xOff, double alpha, int from, int to) {
+        for (int col = from; col < to; col++)
+            y[yOff + col] += alpha * x[xOff + col];
+    }
+
+    @Override
+    public void scale(double[] y, int off, double alpha, int from, int to) {
+        for (int col = from; col < to; col++)
+            y[off + col] *= alpha;
+    }
+}
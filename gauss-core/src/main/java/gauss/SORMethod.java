@@ -0,0 +1,52 @@
+package gauss;
+
+// === Successive over-relaxation (SOR) ===
+// x[i] += omega * (b[i] - sum a[i][j]*x[j]) / a[i][i], newest x[j] are used at once.
+// omega = 1 is the Gauss-Seidel method; 1 < omega < 2 speeds it up for SPD matrices.
+// Converges for diagonally dominant and for symmetric positive-definite A (0 < omega < 2).
+// The preconditioner is not used: the sweep itself is the splitting of A.
+public class SORMethod extends IterativeMethod {
+    private double omega = 1;
+
+    public SORMethod(double[][] source) {
+        super.initMethod("SOR method", source);
+    }
+
+    public SORMethod(SparseMatrix matrix, double[] b) {
+        super.initMethod("SOR method", matrix, b);
+    }
+
+    public void setRelaxation(double omega) {
+        if (!(omega > 0 && omega < 2))
+            throw new IllegalArgumentException("Relaxation factor must be in (0, 2): " + omega);
+        this.omega = omega;
+    }
+
+    @Override
+    protected boolean iterate(double[] x) {
+        int[] rowPtr = matrix.rowPtr, colIdx = matrix.colIdx;
+        double[] values = matrix.values;
+        double[] diag = new double[dim];
+        for (int i = 0; i < dim; i++) {
+            diag[i] = matrix.get(i, i);
+            if (diag[i] == 0)
+                throw new IllegalArgumentException("Zero on diagonal in row " + i + ": SOR can't be used");
+        }
+
+        double[] r = new double[dim];
+        residual(x, r);
+        if (record(norm(r))) return true;
+
+        while (hasIterations()) {
+            for (int i = 0; i < dim; i++) {             // sweep
+                double s = b[i];
+                for (int p = rowPtr[i]; p < rowPtr[i + 1]; p++)
+                    s -= values[p] * x[colIdx[p]];
+                x[i] += omega * s / diag[i];
+            }
+            residual(x, r);
+            if (record(norm(r))) return true;
+        }
+        return false;
+    }
+}
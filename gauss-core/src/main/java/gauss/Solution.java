@@ -0,0 +1,50 @@
+package gauss;
+
+// === Result of a solve: solution vector, rank and consistency status ===
+public class Solution {
+
+    public enum Status {
+        UNIQUE(""),
+        GENERAL("The system has a general solution"),
+        INCONSISTENT("The system is inconsistent"),
+        NOT_CONVERGED("The iterations did not converge");
+
+        private final String info;
+
+        Status(String info) {
+            this.info = info;
+        }
+
+        // Text printed by 'checkResults' for degenerate systems
+        public String getInfo() {
+            return info;
+        }
+    }
+
+    private final double[] x;
+    private final int rank;
+    private final Status status;
+
+    public Solution(double[] x, int rank, Status status) {
+        this.x = x;
+        this.rank = rank;
+        this.status = status;
+    }
+
+    // Solution vector, null if the system has no unique solution (or it wasn't found)
+    public double[] getX() {
+        return x;
+    }
+
+    public int getRank() {
+        return rank;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public boolean isUnique() {
+        return status == Status.UNIQUE;
+    }
+}
@@ -0,0 +1,79 @@
+package gauss;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+// === JFR event of one solve (duration - from the start of elimination to the result) ===
+// Not even loaded until the flight recorder runs (SolveRecorder); with a threshold setting, e.g.
+// jfr configure gauss.Solve#threshold=100ms, only slow solves are kept.
+@Name("gauss.Solve")
+@Label("Linear Solve")
+@Category("Gauss")
+@Description("Solve of a system of linear equations")
+@StackTrace(false)
+final class SolveEvent extends Event {
+    @Label("Method")
+    String method;
+
+    @Label("Dimension")
+    int dimension;
+
+    @Label("Status")
+    String status;
+
+    @Label("Load Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long loadTime;
+
+    @Label("Factor Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long factorTime;
+
+    @Label("Substitute Time")
+    @Timespan(Timespan.NANOSECONDS)
+    long substituteTime;
+
+    @Label("Floating-Point Operations")
+    long flops;
+
+    @Label("GFLOP/s")
+    double gflops;
+
+    @Label("Row Swaps")
+    int swaps;
+
+    @Label("Min Pivot")
+    double minPivot;
+
+    @Label("Near Singular")
+    boolean nearSingular;
+
+    @Label("Residual Norm")
+    double residualNorm;
+
+    @Label("Allocated")
+    @DataAmount
+    long allocated;
+
+    void set(SolveMetrics m) {
+        method = m.getMethod();
+        dimension = m.getDimension();
+        status = m.getStatus().name();
+        loadTime = m.getLoadNanos();
+        factorTime = m.getFactorNanos();
+        substituteTime = m.getSubstituteNanos();
+        flops = m.getFlops();
+        gflops = m.getGflops();
+        swaps = m.getSwaps();
+        minPivot = m.getMinPivot();
+        nearSingular = m.isNearSingular();
+        residualNorm = m.getResidualNorm();
+        allocated = m.getAllocatedBytes();
+    }
+}
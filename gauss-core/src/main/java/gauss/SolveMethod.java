@@ -0,0 +1,248 @@
+package gauss;
+
+import java.util.Arrays;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
+
+// === Common method class ===
+public abstract class SolveMethod {
+    public static final double EPS = 0.001;
+
+    // Progress of the solve, called before every pivot column (iteration) from the solving thread
+    public interface Monitor {
+        boolean step(int done, int total);              // false - stop the solve
+    }
+
+    protected boolean[] okLines;                        // for matrix degeneracy checking
+    protected int dim;                                  // 'protected' - visible to the derived classes
+    protected double[][] a;
+
+    private String methodName;
+    private SolveTrace trace;                           // null - solve silently, nothing is recorded
+    protected ForkJoinPool pool;                        // null - rows are handled sequentially
+    private Monitor monitor;                            // null - no progress reports
+
+    // Metrics of the solve, see SolveMetrics
+    protected long flops;                               // counted by the methods for their own operations
+    private int swaps;
+    private double minPivot = Double.NaN;
+    private long loadNanos, loadAllocated;
+    private double[][] source;                          // caller's [A|b] for the residual, not copied
+    private double[] flatSource;
+    private SolveRecorder recorder;                     // solve in progress
+    private SolveMetrics metrics;
+
+    // Common part for derived classes constructors
+    protected void initMethod(String name, double[][] source) {
+        long start = System.nanoTime(), allocated = loadAllocated();
+        dim = source.length;
+        okLines = new boolean[dim];                     // autoinit with false
+        methodName = name;
+
+        a = new double[dim][];
+        for (int i = 0; i < dim; i++) {
+            if (source[i].length != dim + 1)
+                throw new IllegalArgumentException("Row " + i + " must have " + (dim + 1) + " coefs");
+            a[i] = source[i].clone();
+        }
+        this.source = source;
+        loaded(start, allocated);
+    }
+
+    // Augmented matrix [A|b] as flat row-major array dim x dim+1: rows are copied straight into 'a'
+    protected void initMethod(String name, double[] source, int dim) {
+        if (source.length < (long) dim * (dim + 1))
+            throw new IllegalArgumentException("Array of " + source.length + " elements can't hold " + dim + "x" + (dim + 1) + " matrix");
+        long start = System.nanoTime(), allocated = loadAllocated();
+        this.dim = dim;
+        okLines = new boolean[dim];
+        methodName = name;
+
+        a = new double[dim][];
+        for (int i = 0; i < dim; i++)
+            a[i] = Arrays.copyOfRange(source, i * (dim + 1), (i + 1) * (dim + 1));
+        flatSource = source;
+        loaded(start, allocated);
+    }
+
+    // Allocation counter for detailed metrics, -1 if they are off
+    private static long loadAllocated() {
+        return SolverStats.isDetailed() ? SolveMetrics.threadAllocatedBytes() : -1;
+    }
+
+    private void loaded(long start, long allocated) {
+        loadNanos = System.nanoTime() - start;
+        loadAllocated = allocated < 0 ? -1 : SolveMetrics.threadAllocatedBytes() - allocated;
+    }
+
+    // For methods which keep the matrix in their own form (no dense 'a')
+    protected void initMethod(String name, int dim) {
+        this.dim = dim;
+        okLines = new boolean[dim];
+        methodName = name;
+    }
+
+    // Metrics of the last finished solve, null if there was none (or it was cancelled)
+    public SolveMetrics getMetrics() {
+        return metrics;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    // Trace of the solve (null or level NONE - no trace)
+    public void setTrace(SolveTrace trace) {
+        this.trace = trace != null && trace.getLevel() != SolveTrace.Level.NONE ? trace : null;
+    }
+
+    // Pool for parallel row updates (null - sequential)
+    public void setPool(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    // Progress reports and cancellation (null - none)
+    public void setMonitor(Monitor monitor) {
+        this.monitor = monitor;
+    }
+
+    // Report progress; the solve is abandoned with CancellationException if the monitor says stop
+    protected void progress(int done, int total) {
+        if (monitor != null && !monitor.step(done, total))
+            throw new CancellationException(methodName + " was cancelled");
+    }
+
+    protected boolean isTracing() {
+        return trace != null;
+    }
+
+    protected void print(String s) {
+        if (trace != null)
+            trace.text(s);
+    }
+
+    // Snapshot of the matrix titled 'title' or 'title #number' if number > 0 (FULL trace only)
+    protected void printMatrix(String title, int number) {
+        if (trace != null && a != null)
+            trace.snapshot(title, number, a, dim, dim+1);
+    }
+
+    // Partial pivoting realization
+    protected boolean pivoting(int rowCur) {
+        int colCur = rowCur;
+
+        int rowPivot = rowCur;                          // find max element in column
+        for (int row = rowCur + 1; row < dim; row++)    // down from current
+            if (Math.abs( a[row][colCur]) > Math.abs(a[rowPivot][colCur]) ) rowPivot = row;
+
+        double pivot = Math.abs(a[rowPivot][colCur]);
+        if (Double.isNaN(minPivot) || pivot < minPivot)
+            minPivot = pivot;
+        if (pivot < EPS )                               // if only zeros in column below (a[rowPivot][colCur] = 0)
+            return false;
+
+        okLines[rowCur] = true;
+        if (rowPivot != rowCur)
+            swaps++;
+
+        double[] buf = a[rowCur];                       // transpose rows a[rowCur] and a[rowPivot]
+        a[rowCur] = a[rowPivot];
+        a[rowPivot] = buf;
+
+        return true;
+    }
+
+    // Number of rows which got a pivot
+    protected int rank() {
+        int rank = 0;
+        for (int row = 0; row < dim; row++)
+            if (okLines[row]) rank++;
+        return rank;
+    }
+
+    // Check matrix for degeneracy
+    protected Solution.Status checkResults() {
+        if (recorder != null)
+            recorder.factored();                        // elimination is over
+        Solution.Status status = Solution.Status.UNIQUE;
+
+        for (int row = 0; row < dim; row++) {
+            if ( !okLines[row] ) {
+                if (Math.abs( a[row][dim]) > EPS ) {      // a[row][dim] !=0
+                    status = Solution.Status.INCONSISTENT;
+                    break;
+                } else
+                    status = Solution.Status.GENERAL;
+            }
+        }
+        if (status != Solution.Status.UNIQUE)
+            print(status.getInfo());
+        return status;
+    }
+
+    protected Solution result(double[] x) {
+        finish(Solution.Status.UNIQUE, x);
+        if (trace != null)
+            trace.results(x);
+        return new Solution(x, rank(), Solution.Status.UNIQUE);
+    }
+
+    protected Solution noResult(Solution.Status status) {
+        finish(status, null);
+        return new Solution(null, rank(), status);
+    }
+
+    // Start of the solve: metrics are reset, the elimination phase begins
+    private void start() {
+        flops = 0;
+        swaps = 0;
+        minPivot = Double.NaN;
+        metrics = null;
+        recorder = new SolveRecorder(methodName, dim);
+        recorder.loaded(loadNanos, loadAllocated);
+    }
+
+    // End of the solve: metrics are built and published to JMX and JFR
+    private void finish(Solution.Status status, double[] x) {
+        if (recorder == null)                           // method didn't call printSource
+            start();
+        metrics = recorder.finish(status, flops, swaps, minPivot, x, this::residualNorm);
+        recorder = null;
+    }
+
+    // max |b - A*x| against the source matrix given to the constructor, NaN if it isn't kept
+    protected double residualNorm(double[] x) {
+        if (source == null && flatSource == null)
+            return Double.NaN;
+        double max = 0;
+        for (int i = 0; i < dim; i++) {
+            double s;
+            if (source != null) {
+                double[] row = source[i];
+                s = row[dim];
+                for (int j = 0; j < dim; j++)
+                    s -= row[j] * x[j];
+            } else {
+                int r = i * (dim + 1);
+                s = flatSource[r + dim];
+                for (int j = 0; j < dim; j++)
+                    s -= flatSource[r + j] * x[j];
+            }
+            max = Math.max(max, Math.abs(s));
+        }
+        return max;
+    }
+
+    // Common beginning of every method
+    protected void printSource() {
+        start();
+        if (trace == null) return;
+
+        print("Solve the system of linear equations\n");
+        print("by " + methodName + "\n\n");
+        printMatrix("Source matrix", 0);
+    }
+
+    public abstract Solution doMethod();
+}
+// === End of common method class ===
@@ -0,0 +1,121 @@
+package gauss;
+
+import java.lang.management.ManagementFactory;
+
+// === What happened during one solve: phase times, work, pivots, accuracy, memory ===
+// Collected for every solve by SolveMethod and by the direct solvers of LinearSolver and
+// BatchSolver (SolveRecorder), kept by the method object (getMetrics), added to the JMX
+// statistics (SolverStats) and written as a JFR event (gauss.Solve).
+public final class SolveMetrics {
+    public static final double PIVOT_MARGIN = 10;       // pivots below PIVOT_MARGIN*EPS are suspicious
+
+    private final String method;
+    private final int dimension;
+    private final Solution.Status status;
+    private final long loadNanos, factorNanos, substituteNanos;
+    private final long flops;
+    private final int swaps;
+    private final double minPivot;
+    private final double residualNorm;
+    private final long allocatedBytes;
+
+    SolveMetrics(String method, int dimension, Solution.Status status, long loadNanos, long factorNanos,
+            long substituteNanos, long flops, int swaps, double minPivot, double residualNorm, long allocatedBytes) {
+        this.method = method;
+        this.dimension = dimension;
+        this.status = status;
+        this.loadNanos = loadNanos;
+        this.factorNanos = factorNanos;
+        this.substituteNanos = substituteNanos;
+        this.flops = flops;
+        this.swaps = swaps;
+        this.minPivot = minPivot;
+        this.residualNorm = residualNorm;
+        this.allocatedBytes = allocatedBytes;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public Solution.Status getStatus() {
+        return status;
+    }
+
+    // Copy of the source matrix into the working one (constructor of the method, 0 for direct solvers)
+    public long getLoadNanos() {
+        return loadNanos;
+    }
+
+    // Elimination (iterations for iterative methods)
+    public long getFactorNanos() {
+        return factorNanos;
+    }
+
+    // Back substitution or reading of the results
+    public long getSubstituteNanos() {
+        return substituteNanos;
+    }
+
+    public long getTotalNanos() {
+        return loadNanos + factorNanos + substituteNanos;
+    }
+
+    // Floating-point operations of the algorithm (nominal count, zero multipliers are not subtracted)
+    public long getFlops() {
+        return flops;
+    }
+
+    public double getGflops() {
+        long nanos = factorNanos + substituteNanos;
+        return nanos > 0 ? (double) flops / nanos : 0;
+    }
+
+    // Row transpositions made by pivoting
+    public int getSwaps() {
+        return swaps;
+    }
+
+    // Smallest max-in-column met by pivoting (NaN - no pivoting), compare with SolveMethod.EPS
+    public double getMinPivot() {
+        return minPivot;
+    }
+
+    public boolean isNearSingular() {
+        return minPivot < PIVOT_MARGIN * SolveMethod.EPS;
+    }
+
+    // max |b - A*x| of the solution, NaN if there is no solution or detailed metrics are off
+    public double getResidualNorm() {
+        return residualNorm;
+    }
+
+    // Bytes allocated by the solving threads (-1 - detailed metrics are off or not supported by the JVM); allocations
+    // of pool threads in parallel solves are not counted
+    public long getAllocatedBytes() {
+        return allocatedBytes;
+    }
+
+    // Allocation counter of the current thread, -1 if the JVM doesn't support it
+    static long threadAllocatedBytes() {
+        java.lang.management.ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            com.sun.management.ThreadMXBean counters = (com.sun.management.ThreadMXBean) threads;
+            if (counters.isThreadAllocatedMemoryEnabled())
+                return counters.getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("%s, n=%d, %s: load %.3f ms, factor %.3f ms, substitute %.3f ms, %.3f GFLOP/s, "
+                + "%d swaps, min pivot %.3g, residual %.3g, %d bytes allocated",
+                method, dimension, status, loadNanos / 1e6, factorNanos / 1e6, substituteNanos / 1e6, getGflops(),
+                swaps, minPivot, residualNorm, allocatedBytes);
+    }
+}
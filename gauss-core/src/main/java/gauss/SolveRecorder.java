@@ -0,0 +1,112 @@
+package gauss;
+
+import java.util.function.ToDoubleFunction;
+import jdk.jfr.FlightRecorder;
+
+// === Metrics of one solve in progress, for SolveMethod and for the direct solvers ===
+// Phases are timed from the constructor: factoring until factored(), substitution until
+// finish(). Times, flops, swaps and pivots are always recorded (a few words per solve);
+// residual norm and allocated bytes only when detailed metrics are on (SolverStats), the
+// JFR event only when a recording has gauss.Solve enabled. Event classes are not touched
+// until the flight recorder runs (loading them costs about half a second at startup);
+// without jdk.jfr in the runtime image there are no events, metrics are still recorded.
+final class SolveRecorder {
+    private static final boolean JFR = ModuleLayer.boot().findModule("jdk.jfr").isPresent();
+
+    private final String method;
+    private final int dimension;
+    private final boolean detailed;
+    private final SolveEvent event;                     // null - no recording
+    private final long start, allocatedStart;
+    private long loadNanos, loadAllocated;
+    private long substituteStart;
+    private SolveMetrics metrics;
+
+    SolveRecorder(String method, int dimension) {
+        this.method = method;
+        this.dimension = dimension;
+        detailed = SolverStats.isDetailed();
+        allocatedStart = detailed ? SolveMetrics.threadAllocatedBytes() : -1;
+        if (JFR && FlightRecorder.isInitialized()) {
+            event = new SolveEvent();                   // disabled event: begin/end/commit are no-ops
+            event.begin();
+        } else
+            event = null;
+        start = System.nanoTime();
+    }
+
+    // Copy of the source into the working matrix, done before the recorder was made
+    void loaded(long nanos, long allocated) {
+        loadNanos = nanos;
+        loadAllocated = allocated;
+    }
+
+    // Factoring (elimination) is over, substitution begins
+    void factored() {
+        substituteStart = System.nanoTime();
+    }
+
+    // Metrics are built and published to JMX and JFR; the residual is computed only for
+    // detailed metrics of a solution (null function - residual is not known)
+    SolveMetrics finish(Solution.Status status, long flops, int swaps, double minPivot,
+            double[] x, ToDoubleFunction<double[]> residual) {
+        long end = System.nanoTime();
+        if (event != null)
+            event.end();                                // residual and publishing are not timed
+        if (substituteStart == 0)                       // no separate substitution
+            substituteStart = end;
+        long allocated = !detailed || allocatedStart < 0 || loadAllocated < 0 ? -1
+                : loadAllocated + SolveMetrics.threadAllocatedBytes() - allocatedStart;
+        double residualNorm = detailed && x != null && residual != null ? residual.applyAsDouble(x) : Double.NaN;
+
+        metrics = new SolveMetrics(method, dimension, status, loadNanos, Math.max(substituteStart - start, 0),
+                Math.max(end - substituteStart, 0), flops, swaps, minPivot, residualNorm, allocated);
+        SolverStats.record(metrics);
+        if (event != null && event.shouldCommit()) {
+            event.set(metrics);
+            event.commit();
+        }
+        return metrics;
+    }
+
+    <S extends Solution> S finish(S solution, long flops, int swaps, double minPivot, ToDoubleFunction<double[]> residual) {
+        finish(solution.getStatus(), flops, swaps, minPivot, solution.getX(), residual);
+        return solution;
+    }
+
+    SolveMetrics getMetrics() {
+        return metrics;
+    }
+
+    // Nominal flops of LU with one right-hand side
+    static long luFlops(int n) {
+        return 2L * n * n * n / 3 + 2L * n * n;
+    }
+
+    // max |b - A*x| of augmented [A|b] given by rows
+    static double residual(double[][] a, double[] b, double[] x) {
+        double max = 0;
+        for (int i = 0; i < a.length; i++) {
+            double[] row = a[i];
+            double s = b != null ? b[i] : row[x.length];
+            for (int j = 0; j < x.length; j++)
+                s -= row[j] * x[j];
+            max = Math.max(max, Math.abs(s));
+        }
+        return max;
+    }
+
+    // The same for flat row-major A (stride - row length), b separate or null if it's the last column
+    static double residual(double[] a, int stride, double[] b, double[] x) {
+        int n = x.length;
+        double max = 0;
+        for (int i = 0; i < n; i++) {
+            int r = i * stride;
+            double s = b != null ? b[i] : a[r + n];
+            for (int j = 0; j < n; j++)
+                s -= a[r + j] * x[j];
+            max = Math.max(max, Math.abs(s));
+        }
+        return max;
+    }
+}
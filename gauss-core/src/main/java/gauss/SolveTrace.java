@@ -0,0 +1,123 @@
+package gauss;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+// === Step-by-step trace of a solve ===
+// The solver only records what happened: text lines, copies of the matrix after
+// every iteration (FULL level) and the results. Numbers are formatted to text
+// only when the trace is viewed (toString / writeTo), not during the solve.
+public class SolveTrace {
+
+    public enum Level {
+        NONE,                                           // nothing is recorded
+        SUMMARY,                                        // header, degeneracy info and results
+        FULL                                            // plus the matrix after every iteration
+    }
+
+    public static final long DEFAULT_SNAPSHOT_LIMIT = 4 << 20;  // matrix elements kept for snapshots (32 MB)
+
+    // Recorded piece of the trace, formatted on demand
+    private interface Entry {
+        void format(StringBuilder out);
+    }
+
+    private final Level level;
+    private final List<Entry> entries = new ArrayList<>();
+    private long snapshotBudget;
+
+    public SolveTrace(Level level) {
+        this(level, DEFAULT_SNAPSHOT_LIMIT);
+    }
+
+    public SolveTrace(Level level, long snapshotLimit) {
+        this.level = level;
+        this.snapshotBudget = snapshotLimit;
+    }
+
+    public Level getLevel() {
+        return level;
+    }
+
+    public boolean isFull() {
+        return level == Level.FULL;
+    }
+
+    public void text(String s) {
+        if (level != Level.NONE)
+            entries.add(out -> out.append(s));
+    }
+
+    // Copy of matrix 'a' (rows x cols) titled 'title' or 'title #number' if number > 0
+    public void snapshot(String title, int number, double[][] a, int rows, int cols) {
+        if (level != Level.FULL) return;
+
+        long size = (long) rows * cols;
+        if (size > snapshotBudget) {
+            entries.add(out -> appendTitle(out, title, number).append(":\n(skipped, snapshot limit reached)\n\n"));
+            return;
+        }
+        snapshotBudget -= size;
+
+        double[] copy = new double[(int) size];
+        for (int row = 0; row < rows; row++)
+            System.arraycopy(a[row], 0, copy, row * cols, cols);
+
+        entries.add(out -> {
+            appendTitle(out, title, number).append(":\n");
+            for (int row = 0; row < rows; row++) {
+                for (int col = 0; col < cols; col++)
+                    out.append(str(copy[row * cols + col]));
+                out.append('\n');
+            }
+            out.append('\n');
+        });
+    }
+
+    // Result lines 'x1 = ...'
+    public void results(double[] x) {
+        if (level == Level.NONE) return;
+
+        double[] copy = x.clone();
+        entries.add(out -> {
+            for (int i = 0; i < copy.length; i++)
+                out.append('x').append(i + 1).append(" = ").append(str(copy[i])).append('\n');
+        });
+    }
+
+    private static StringBuilder appendTitle(StringBuilder out, String title, int number) {
+        out.append(title);
+        if (number > 0)
+            out.append(" #").append(number);
+        return out;
+    }
+
+    // fix -0.000
+    public static String str(double x) {
+        if (Math.abs(x) < SolveMethod.EPS)
+            x = Math.abs(x);
+        return String.format("%8.4f ", x);
+    }
+
+    public void writeTo(Appendable out) {
+        try {
+            for (Entry entry : entries) {
+                StringBuilder sb = new StringBuilder();
+                entry.format(sb);
+                out.append(sb);
+            }
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder();
+        for (Entry entry : entries)
+            entry.format(out);
+        return out.toString();
+    }
+}
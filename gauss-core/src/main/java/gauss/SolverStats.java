@@ -0,0 +1,171 @@
+package gauss;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+// === Statistics of all solves in the JVM, published in the platform MBean server on request ===
+// Counters are updated without locks from any solving thread; 'last' is one immutable object.
+// Starting the MBean server takes a good part of a second, so solves only count: applications
+// which want the MXBean call register() (the window and the solve server do it in main).
+// Detailed metrics (residual norm, allocated bytes) cost an O(n^2) pass and a ThreadMXBean
+// call per solve, they are off unless -Dgauss.metrics=detailed or set through JMX.
+public final class SolverStats implements SolverStatsMXBean {
+    public static final String OBJECT_NAME = "gauss:type=SolverStats";
+
+    private static final SolverStats INSTANCE = new SolverStats();
+
+    private final LongAdder solves = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder nearSingular = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private volatile SolveMetrics last;
+    private volatile boolean detailed = "detailed".equals(System.getProperty("gauss.metrics"));
+
+    private SolverStats() {
+    }
+
+    // Publish the statistics as MXBean OBJECT_NAME (once, later calls do nothing)
+    public static void register() {
+        Registration.done();
+    }
+
+    // Separate class: javax.management is touched only by register()
+    private static final class Registration {
+        static {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (JMException ex) {
+                // another copy of the library (other class loader) did it first; statistics
+                // are still collected and available through getInstance()
+            }
+        }
+
+        static void done() {
+        }
+    }
+
+    public static SolverStats getInstance() {
+        return INSTANCE;
+    }
+
+    static boolean isDetailed() {
+        return INSTANCE.detailed;
+    }
+
+    static void record(SolveMetrics metrics) {
+        INSTANCE.add(metrics);
+    }
+
+    private void add(SolveMetrics metrics) {
+        solves.increment();
+        if (metrics.getStatus() != Solution.Status.UNIQUE)
+            failed.increment();
+        if (metrics.isNearSingular())
+            nearSingular.increment();
+        totalNanos.add(metrics.getTotalNanos());
+        maxNanos.accumulate(metrics.getTotalNanos());
+        last = metrics;
+    }
+
+    @Override
+    public long getSolveCount() {
+        return solves.sum();
+    }
+
+    @Override
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    @Override
+    public long getNearSingularCount() {
+        return nearSingular.sum();
+    }
+
+    @Override
+    public long getTotalSolveMillis() {
+        return totalNanos.sum() / 1_000_000;
+    }
+
+    @Override
+    public long getMaxSolveMillis() {
+        return maxNanos.get() / 1_000_000;
+    }
+
+    // Last solve, null if there was none
+    public SolveMetrics getLast() {
+        return last;
+    }
+
+    @Override
+    public String getLastMethod() {
+        SolveMetrics m = last;
+        return m == null ? "" : m.getMethod();
+    }
+
+    @Override
+    public int getLastDimension() {
+        SolveMetrics m = last;
+        return m == null ? 0 : m.getDimension();
+    }
+
+    @Override
+    public String getLastStatus() {
+        SolveMetrics m = last;
+        return m == null ? "" : m.getStatus().name();
+    }
+
+    @Override
+    public double getLastSolveMillis() {
+        SolveMetrics m = last;
+        return m == null ? 0 : m.getTotalNanos() / 1e6;
+    }
+
+    @Override
+    public double getLastGflops() {
+        SolveMetrics m = last;
+        return m == null ? 0 : m.getGflops();
+    }
+
+    @Override
+    public double getLastMinPivot() {
+        SolveMetrics m = last;
+        return m == null ? Double.NaN : m.getMinPivot();
+    }
+
+    @Override
+    public double getLastResidualNorm() {
+        SolveMetrics m = last;
+        return m == null ? Double.NaN : m.getResidualNorm();
+    }
+
+    @Override
+    public long getLastAllocatedBytes() {
+        SolveMetrics m = last;
+        return m == null ? -1 : m.getAllocatedBytes();
+    }
+
+    @Override
+    public boolean isDetailedMetrics() {
+        return detailed;
+    }
+
+    @Override
+    public void setDetailedMetrics(boolean detailed) {
+        this.detailed = detailed;
+    }
+
+    @Override
+    public void reset() {
+        solves.reset();
+        failed.reset();
+        nearSingular.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        last = null;
+    }
+}
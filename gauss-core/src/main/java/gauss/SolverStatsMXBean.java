@@ -0,0 +1,36 @@
+package gauss;
+
+// === JMX view of solver statistics, object name gauss:type=SolverStats ===
+public interface SolverStatsMXBean {
+    long getSolveCount();
+
+    long getFailedCount();                              // no unique solution or not converged
+
+    long getNearSingularCount();                        // min pivot below PIVOT_MARGIN*EPS
+
+    long getTotalSolveMillis();
+
+    long getMaxSolveMillis();
+
+    String getLastMethod();
+
+    int getLastDimension();
+
+    String getLastStatus();
+
+    double getLastSolveMillis();
+
+    double getLastGflops();
+
+    double getLastMinPivot();
+
+    double getLastResidualNorm();                       // NaN unless detailed metrics are on
+
+    long getLastAllocatedBytes();                       // -1 unless detailed metrics are on
+
+    boolean isDetailedMetrics();
+
+    void setDetailedMetrics(boolean detailed);
+
+    void reset();
+}
@@ -0,0 +1,363 @@
+package gauss;
+
+import java.util.Arrays;
+
+// === Sparse LU decomposition with partial pivoting: P*A*Q = L*U ===
+// Left-looking (Gilbert-Peierls) algorithm: column #k of L and U is found by a sparse
+// triangular solve with the columns already factored, only over its nonzero pattern.
+// Columns are taken in fill-reducing order Q (reverse Cuthill-McKee by default), the
+// pivot is the largest element of the column as in SolveMethod.pivoting, but the
+// diagonal one is preferred while it is not less than PIVOT_TOLERANCE of the largest,
+// so the ordering is kept. A column with no element >= EPS is left without pivot.
+public final class SparseLU {
+    public static final double PIVOT_TOLERANCE = 0.1;
+
+    public enum Ordering {
+        NATURAL,                                        // columns as they are
+        RCM                                             // reverse Cuthill-McKee of A + A^T
+    }
+
+    private final int n;
+    private int[] lp, li, up, ui;                       // L and U by columns (CSC), L with unit diagonal first
+    private double[] lx, ux;                            // U diagonal is the last element of every column
+    private final int[] pinv;                           // row #i of A is row #pinv[i] of L*U
+    private final int[] q;                              // column #k of L*U is column #q[k] of A
+    private final boolean[] okLines;                    // step #k got a pivot
+    private int lnz, unz;
+
+    public static SparseLU factor(SparseMatrix a) {
+        return factor(a, Ordering.RCM);
+    }
+
+    public static SparseLU factor(SparseMatrix a, Ordering ordering) {
+        if (a.getRows() != a.getCols())
+            throw new IllegalArgumentException("Matrix " + a.getRows() + "x" + a.getCols() + " is not square");
+        int[] q = ordering == Ordering.RCM ? reverseCuthillMcKee(a) : identity(a.getRows());
+        return new SparseLU(a.transpose(), q);
+    }
+
+    private SparseLU(SparseMatrix csc, int[] q) {
+        n = csc.getRows();
+        this.q = q;
+        pinv = new int[n];
+        okLines = new boolean[n];
+
+        int capacity = 4 * csc.getNonZeros() + n;
+        lp = new int[n + 1];
+        up = new int[n + 1];
+        li = new int[capacity];
+        lx = new double[capacity];
+        ui = new int[capacity];
+        ux = new double[capacity];
+
+        decompose(csc);
+    }
+
+    private static int[] identity(int n) {
+        int[] q = new int[n];
+        for (int k = 0; k < n; k++)
+            q[k] = k;
+        return q;
+    }
+
+    private void decompose(SparseMatrix csc) {
+        double[] x = new double[n];                     // dense work column, zero outside current pattern
+        int[] xi = new int[n];                          // pattern of x (top part) and DFS stack
+        int[] position = new int[n];                    // DFS: next element of L column to look at
+        int[] mark = new int[n];                        // mark[i] == k+1 - row #i visited at step k
+        Arrays.fill(pinv, -1);
+
+        for (int k = 0; k < n; k++) {
+            lp[k] = lnz;
+            up[k] = unz;
+            ensureCapacity(n + 1);                      // column of L or U has not more than n+1 elements
+
+            int col = q[k];
+            int top = spsolve(csc, col, xi, position, x, mark, k + 1);
+
+            int ipiv = -1;                              // partial pivoting: max of not pivotal rows
+            double max = -1;
+            for (int p = top; p < n; p++) {
+                int i = xi[p];
+                if (pinv[i] < 0) {
+                    double v = Math.abs(x[i]);
+                    if (v > max) {
+                        max = v;
+                        ipiv = i;
+                    }
+                } else {                                // U(pinv[i], k)
+                    ui[unz] = pinv[i];
+                    ux[unz++] = x[i];
+                }
+            }
+
+            if (ipiv < 0 || max < SolveMethod.EPS) {  // only zeros in column below - no pivot at this step
+                li[lnz] = -1;                           // unit diagonal, row is given at the end
+                lx[lnz++] = 1;
+                ui[unz] = k;
+                ux[unz++] = 0;
+            } else {
+                if (pinv[col] < 0 && Math.abs(x[col]) >= PIVOT_TOLERANCE * max)
+                    ipiv = col;                         // keep fill-reducing order
+                double pivot = x[ipiv];
+                okLines[k] = true;
+                pinv[ipiv] = k;
+                ui[unz] = k;
+                ux[unz++] = pivot;
+                li[lnz] = ipiv;
+                lx[lnz++] = 1;
+                for (int p = top; p < n; p++) {
+                    int i = xi[p];
+                    if (pinv[i] < 0 && x[i] != 0) {
+                        li[lnz] = i;
+                        lx[lnz++] = x[i] / pivot;
+                    }
+                }
+            }
+            for (int p = top; p < n; p++)
+                x[xi[p]] = 0;
+        }
+        lp[n] = lnz;
+        up[n] = unz;
+
+        int row = 0;                                    // rows left without pivot go to the steps without pivot
+        for (int k = 0; k < n; k++)
+            if (!okLines[k]) {
+                while (pinv[row] >= 0) row++;
+                pinv[row] = k;
+                li[lp[k]] = row;
+            }
+        for (int p = 0; p < lnz; p++)                   // L rows in factor order
+            li[p] = pinv[li[p]];
+
+        li = Arrays.copyOf(li, lnz);
+        lx = Arrays.copyOf(lx, lnz);
+        ui = Arrays.copyOf(ui, unz);
+        ux = Arrays.copyOf(ux, unz);
+    }
+
+    private void ensureCapacity(int more) {
+        if (lnz + more > li.length) {
+            int size = Math.max(2 * li.length, lnz + more);
+            li = Arrays.copyOf(li, size);
+            lx = Arrays.copyOf(lx, size);
+        }
+        if (unz + more > ui.length) {
+            int size = Math.max(2 * ui.length, unz + more);
+            ui = Arrays.copyOf(ui, size);
+            ux = Arrays.copyOf(ux, size);
+        }
+    }
+
+    // x = L \ A(:,col) over the pattern; the pattern is returned in xi[top..n-1] in topological order
+    private int spsolve(SparseMatrix csc, int col, int[] xi, int[] position, double[] x, int[] mark, int stamp) {
+        int top = n;
+        for (int p = csc.rowPtr[col]; p < csc.rowPtr[col + 1]; p++)
+            if (mark[csc.colIdx[p]] != stamp)
+                top = dfs(csc.colIdx[p], top, xi, position, mark, stamp);
+
+        for (int p = csc.rowPtr[col]; p < csc.rowPtr[col + 1]; p++)
+            x[csc.colIdx[p]] = csc.values[p];
+
+        for (int px = top; px < n; px++) {
+            int j = xi[px];
+            int jcol = pinv[j];                         // column of L where row #j is the diagonal
+            if (jcol < 0) continue;
+            double xj = x[j];
+            if (xj == 0) continue;
+            for (int p = lp[jcol] + 1; p < lp[jcol + 1]; p++)
+                x[li[p]] -= lx[p] * xj;
+        }
+        return top;
+    }
+
+    // Depth-first search in the graph of L from row #j; reached rows are put to xi[--top].
+    // The search stack grows from xi[0] up, it never meets the pattern (together not more than n).
+    private int dfs(int j, int top, int[] xi, int[] position, int[] mark, int stamp) {
+        int head = 0;
+        xi[0] = j;
+        while (head >= 0) {
+            j = xi[head];
+            int jcol = pinv[j];
+            if (mark[j] != stamp) {
+                mark[j] = stamp;
+                position[head] = jcol < 0 ? 0 : lp[jcol] + 1;
+            }
+            boolean done = true;
+            int end = jcol < 0 ? 0 : lp[jcol + 1];
+            for (int p = position[head]; p < end; p++) {
+                int i = li[p];
+                if (mark[i] == stamp) continue;
+                position[head] = p + 1;
+                xi[++head] = i;
+                done = false;
+                break;
+            }
+            if (done) {
+                head--;
+                xi[--top] = j;
+            }
+        }
+        return top;
+    }
+
+    // Reverse Cuthill-McKee ordering of the graph of A + A^T
+    static int[] reverseCuthillMcKee(SparseMatrix a) {
+        int n = a.getRows();
+        SparseMatrix at = a.transpose();
+
+        int[] ptr = new int[n + 1];                     // adjacency lists of A + A^T without diagonal
+        int[] adj = new int[2 * a.getNonZeros()];
+        int[] seen = new int[n];
+        Arrays.fill(seen, -1);
+        int nz = 0;
+        for (int i = 0; i < n; i++) {
+            ptr[i] = nz;
+            seen[i] = i;
+            for (SparseMatrix m : new SparseMatrix[] {a, at})
+                for (int p = m.rowPtr[i]; p < m.rowPtr[i + 1]; p++) {
+                    int j = m.colIdx[p];
+                    if (seen[j] != i) {
+                        seen[j] = i;
+                        adj[nz++] = j;
+                    }
+                }
+        }
+        ptr[n] = nz;
+
+        int[] degree = new int[n];
+        for (int i = 0; i < n; i++)
+            degree[i] = ptr[i + 1] - ptr[i];
+
+        int[] order = new int[n];
+        int[] level = new int[n];
+        boolean[] visited = new boolean[n];
+        int count = 0;
+        for (int start = 0; start < n; start++) {      // every connected component
+            if (visited[start]) continue;
+            int root = peripheralNode(start, ptr, adj, degree, level);
+
+            int head = count;
+            order[count++] = root;
+            visited[root] = true;
+            while (head < count) {                      // BFS, neighbours by ascending degree
+                int v = order[head++];
+                int first = count;
+                for (int p = ptr[v]; p < ptr[v + 1]; p++) {
+                    int w = adj[p];
+                    if (!visited[w]) {
+                        visited[w] = true;
+                        order[count++] = w;
+                    }
+                }
+                for (int s = first + 1; s < count; s++) {
+                    int w = order[s], t = s - 1;
+                    while (t >= first && degree[order[t]] > degree[w]) {
+                        order[t + 1] = order[t];
+                        t--;
+                    }
+                    order[t + 1] = w;
+                }
+            }
+        }
+
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int buf = order[i];
+            order[i] = order[j];
+            order[j] = buf;
+        }
+        return order;
+    }
+
+    // Pseudo-peripheral node of the component of 'start': repeat BFS from the farthest node
+    // of least degree while the level structure gets deeper
+    private static int peripheralNode(int start, int[] ptr, int[] adj, int[] degree, int[] level) {
+        int root = start;
+        int depth = -1;
+        int[] queue = new int[level.length];
+        for (int tries = 0; tries < 8; tries++) {
+            int count = 0, head = 0;
+            queue[count++] = root;
+            level[root] = tries * level.length + 1;     // level stamps differ between tries
+            int base = level[root];
+            int last = root;
+            while (head < count) {
+                int v = queue[head++];
+                for (int p = ptr[v]; p < ptr[v + 1]; p++) {
+                    int w = adj[p];
+                    if (level[w] < base) {
+                        level[w] = level[v] + 1;
+                        queue[count++] = w;
+                    }
+                }
+                last = v;
+            }
+
+            int maxLevel = level[last];
+            if (maxLevel - base <= depth) break;
+            depth = maxLevel - base;
+            int best = last;                            // least degree node of the last level
+            for (int s = count - 1; s >= 0 && level[queue[s]] == maxLevel; s--)
+                if (degree[queue[s]] < degree[best]) best = queue[s];
+            root = best;
+        }
+        return root;
+    }
+
+    public int getDimension() {
+        return n;
+    }
+
+    public int getRank() {
+        int rank = 0;
+        for (int k = 0; k < n; k++)
+            if (okLines[k]) rank++;
+        return rank;
+    }
+
+    // Nonzeros of L and U together (fill-in included)
+    public long getNonZeros() {
+        return (long) lnz + unz;
+    }
+
+    // Solve A*x = b; the same status rules as SolveMethod.checkResults
+    public Solution solve(double[] b) {
+        if (b.length != n)
+            throw new IllegalArgumentException("Length of b (" + b.length + ") differs from dimension (" + n + ")");
+
+        double[] y = new double[n];
+        for (int i = 0; i < n; i++)                     // y = P*b
+            y[pinv[i]] = b[i];
+
+        for (int j = 0; j < n; j++) {                   // L*y = P*b
+            double yj = y[j];
+            if (yj == 0) continue;
+            for (int p = lp[j] + 1; p < lp[j + 1]; p++)
+                y[li[p]] -= lx[p] * yj;
+        }
+
+        Solution.Status status = Solution.Status.UNIQUE;
+        for (int k = 0; k < n; k++)
+            if (!okLines[k]) {
+                if (Math.abs(y[k]) > SolveMethod.EPS)
+                    return new Solution(null, getRank(), Solution.Status.INCONSISTENT);
+                status = Solution.Status.GENERAL;
+            }
+        if (status != Solution.Status.UNIQUE)
+            return new Solution(null, getRank(), status);
+
+        for (int j = n - 1; j >= 0; j--) {             // U*z = y
+            int diag = up[j + 1] - 1;
+            double zj = y[j] / ux[diag];
+            y[j] = zj;
+            if (zj == 0) continue;
+            for (int p = up[j]; p < diag; p++)
+                y[ui[p]] -= ux[p] * zj;
+        }
+
+        double[] x = new double[n];                     // x = Q*z
+        for (int k = 0; k < n; k++)
+            x[q[k]] = y[k];
+        return new Solution(x, n, status);
+    }
+}
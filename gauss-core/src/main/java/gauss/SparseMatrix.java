@@ -0,0 +1,183 @@
+package gauss;
+
+import java.util.Arrays;
+
+// === Sparse matrix in compressed sparse row (CSR) form ===
+// Nonzeros of row #i are values[rowPtr[i] .. rowPtr[i+1]-1] in columns colIdx[...],
+// column indexes of a row are ascending. Only nonzeros are stored: a 100k x 100k
+// system with a few nonzeros per row takes megabytes instead of 80 GB.
+public final class SparseMatrix {
+    private final int rows, cols;
+    final int[] rowPtr;
+    final int[] colIdx;
+    final double[] values;
+
+    SparseMatrix(int rows, int cols, int[] rowPtr, int[] colIdx, double[] values) {
+        this.rows = rows;
+        this.cols = cols;
+        this.rowPtr = rowPtr;
+        this.colIdx = colIdx;
+        this.values = values;
+    }
+
+    // From triplets (row[k], col[k], value[k]), k < count; duplicates are summed, zeros dropped
+    public static SparseMatrix fromTriplets(int rows, int cols, int[] row, int[] col, double[] value, int count) {
+        int[] rowPtr = new int[rows + 1];
+        for (int k = 0; k < count; k++) {
+            if (row[k] < 0 || row[k] >= rows || col[k] < 0 || col[k] >= cols)
+                throw new IllegalArgumentException("Element (" + row[k] + "," + col[k] + ") is out of " + rows + "x" + cols + " matrix");
+            rowPtr[row[k] + 1]++;
+        }
+        for (int i = 0; i < rows; i++)
+            rowPtr[i + 1] += rowPtr[i];
+
+        int[] next = Arrays.copyOf(rowPtr, rows);
+        int[] colIdx = new int[count];
+        double[] values = new double[count];
+        for (int k = 0; k < count; k++) {
+            int p = next[row[k]]++;
+            colIdx[p] = col[k];
+            values[p] = value[k];
+        }
+        return new SparseMatrix(rows, cols, rowPtr, colIdx, values).compact();
+    }
+
+    // Nonzeros of dense matrix (only first 'cols' columns of every row are taken)
+    public static SparseMatrix fromDense(double[][] a, int cols) {
+        int rows = a.length;
+        int[] rowPtr = new int[rows + 1];
+        for (int i = 0; i < rows; i++) {
+            int nz = 0;
+            for (int j = 0; j < cols; j++)
+                if (a[i][j] != 0) nz++;
+            rowPtr[i + 1] = rowPtr[i] + nz;
+        }
+
+        int[] colIdx = new int[rowPtr[rows]];
+        double[] values = new double[rowPtr[rows]];
+        for (int i = 0, p = 0; i < rows; i++)
+            for (int j = 0; j < cols; j++)
+                if (a[i][j] != 0) {
+                    colIdx[p] = j;
+                    values[p++] = a[i][j];
+                }
+        return new SparseMatrix(rows, cols, rowPtr, colIdx, values);
+    }
+
+    public static SparseMatrix fromDense(double[][] a) {
+        return fromDense(a, a.length == 0 ? 0 : a[0].length);
+    }
+
+    // Sort columns in every row, sum duplicates, drop zeros
+    private SparseMatrix compact() {
+        int[] where = new int[cols];                    // position of column in current row + 1
+        int nz = 0;
+        for (int i = 0; i < rows; i++) {
+            int start = nz;
+            for (int p = rowPtr[i]; p < rowPtr[i + 1]; p++) {
+                int j = colIdx[p];
+                if (where[j] > start) {
+                    values[where[j] - 1] += values[p];
+                } else {
+                    where[j] = nz + 1;
+                    colIdx[nz] = j;
+                    values[nz++] = values[p];
+                }
+            }
+            int end = start;                            // drop zeros and sort the row
+            for (int p = start; p < nz; p++)
+                if (values[p] != 0) {
+                    colIdx[end] = colIdx[p];
+                    values[end++] = values[p];
+                }
+            sortRow(start, end);
+            nz = end;
+            rowPtr[i] = start;
+        }
+        int[] ptr = new int[rows + 1];
+        System.arraycopy(rowPtr, 0, ptr, 0, rows);
+        ptr[rows] = nz;
+        return new SparseMatrix(rows, cols, ptr, Arrays.copyOf(colIdx, nz), Arrays.copyOf(values, nz));
+    }
+
+    // Insertion sort by column, rows are short
+    private void sortRow(int from, int to) {
+        for (int p = from + 1; p < to; p++) {
+            int j = colIdx[p];
+            double v = values[p];
+            int q = p - 1;
+            while (q >= from && colIdx[q] > j) {
+                colIdx[q + 1] = colIdx[q];
+                values[q + 1] = values[q];
+                q--;
+            }
+            colIdx[q + 1] = j;
+            values[q + 1] = v;
+        }
+    }
+
+    public int getRows() {
+        return rows;
+    }
+
+    public int getCols() {
+        return cols;
+    }
+
+    public int getNonZeros() {
+        return rowPtr[rows];
+    }
+
+    public double get(int row, int col) {
+        int p = Arrays.binarySearch(colIdx, rowPtr[row], rowPtr[row + 1], col);
+        return p >= 0 ? values[p] : 0;
+    }
+
+    // y = A*x
+    public void multiply(double[] x, double[] y) {
+        for (int i = 0; i < rows; i++) {
+            double s = 0;
+            for (int p = rowPtr[i]; p < rowPtr[i + 1]; p++)
+                s += values[p] * x[colIdx[p]];
+            y[i] = s;
+        }
+    }
+
+    public double[] multiply(double[] x) {
+        double[] y = new double[rows];
+        multiply(x, y);
+        return y;
+    }
+
+    // A^T in CSR form, i.e. A in compressed sparse column (CSC) form
+    public SparseMatrix transpose() {
+        int nz = getNonZeros();
+        int[] ptr = new int[cols + 1];
+        for (int p = 0; p < nz; p++)
+            ptr[colIdx[p] + 1]++;
+        for (int j = 0; j < cols; j++)
+            ptr[j + 1] += ptr[j];
+
+        int[] next = Arrays.copyOf(ptr, cols);
+        int[] idx = new int[nz];
+        double[] val = new double[nz];
+        for (int i = 0; i < rows; i++)                  // rows in order - indexes come out sorted
+            for (int p = rowPtr[i]; p < rowPtr[i + 1]; p++) {
+                int q = next[colIdx[p]]++;
+                idx[q] = i;
+                val[q] = values[p];
+            }
+        return new SparseMatrix(cols, rows, ptr, idx, val);
+    }
+
+    // Largest distance of a nonzero from the diagonal: {below, above}
+    public int[] bandwidth() {
+        int lower = 0, upper = 0;
+        for (int i = 0; i < rows; i++)
+            if (rowPtr[i + 1] > rowPtr[i]) {
+                lower = Math.max(lower, i - colIdx[rowPtr[i]]);
+                upper = Math.max(upper, colIdx[rowPtr[i + 1] - 1] - i);
+            }
+        return new int[] {lower, upper};
+    }
+}
@@ -0,0 +1,239 @@
+package gauss;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// === Least squares by tall-skinny QR (TSQR) of augmented [A|b], m x c, c = n+1, m >> n ===
+// Rows are collected into blocks, every block is QR-factored by Householder reflections on its
+// own, and the c x c R factors are merged pairwise in a binary reduction tree: QR of two
+// stacked triangles. Q is never formed: R of [A|b] holds R of A, Q^T*b in its last column and
+// the residual norm in the corner, so x = inv(R) * Q^T*b and |b - A*x| = |R[n][n]|.
+// Rows are streamed: BATCH blocks are reduced at a time (in parallel with a pool) and folded
+// into the running R, so memory depends on the number of columns only, never on the rows.
+// The tree does not depend on the pool, so parallel results are equal to sequential ones.
+public class TallSkinnyQR {
+    public static final int BATCH = 16;                 // blocks reduced together
+    public static final int BLOCK_ELEMENTS = 1 << 15;   // rows per block: this many elements, at least 2*c rows
+
+    private final int n, c;                             // unknowns, columns of [A|b]
+    private final int blockRows;
+    private final ForkJoinPool pool;                    // null - sequential
+    private final double[][] blocks = new double[BATCH][];
+    private final int[] blockSizes = new int[BATCH];
+    private int full;                                   // complete blocks of the batch
+    private int filled;                                 // rows in block #full
+    private double[] r;                                 // running R, null - no batch reduced yet
+    private long rows;
+
+    public TallSkinnyQR(int unknowns, ForkJoinPool pool) {
+        if (unknowns < 1)
+            throw new IllegalArgumentException("Bad number of unknowns: " + unknowns);
+        this.n = unknowns;
+        this.c = unknowns + 1;
+        this.blockRows = Math.max(2 * c, BLOCK_ELEMENTS / c);
+        this.pool = pool;
+    }
+
+    // Least squares of A (m x n, m >= n) and b in memory
+    public static LeastSquaresSolution solve(double[][] a, double[] b, ForkJoinPool pool) {
+        if (a.length == 0 || b.length != a.length)
+            throw new IllegalArgumentException("Length of b (" + b.length + ") differs from number of equations (" + a.length + ")");
+        TallSkinnyQR qr = new TallSkinnyQR(a[0].length, pool);
+        for (int i = 0; i < a.length; i++)
+            qr.add(a[i], b[i]);
+        return qr.solve();
+    }
+
+    // Least squares of augmented [A|b] from a binary matrix file, streamed row by row
+    public static LeastSquaresSolution solve(Path augmented, ForkJoinPool pool) throws IOException {
+        int[] dims = BinaryMatrixFile.readDimensions(augmented);
+        if (dims[1] < 2)
+            throw new IllegalArgumentException("Matrix " + dims[0] + "x" + dims[1] + " is not an augmented system");
+        TallSkinnyQR qr = new TallSkinnyQR(dims[1] - 1, pool);
+        BinaryMatrixFile.forEachRow(augmented, true, (i, row) -> qr.add(row));
+        return qr.solve();
+    }
+
+    // Equation 'coefs' * x = 'rhs'
+    public void add(double[] coefs, double rhs) {
+        if (coefs.length != n)
+            throw new IllegalArgumentException("Equation must have " + n + " coefs");
+        double[] block = block();
+        System.arraycopy(coefs, 0, block, filled * c, n);
+        block[filled * c + n] = rhs;
+        added();
+    }
+
+    // Row of augmented matrix [A|b]
+    public void add(double[] row) {
+        if (row.length != c)
+            throw new IllegalArgumentException("Row must have " + c + " coefs");
+        System.arraycopy(row, 0, block(), filled * c, c);
+        added();
+    }
+
+    private double[] block() {
+        if (blocks[full] == null)
+            blocks[full] = new double[blockRows * c];
+        return blocks[full];
+    }
+
+    private void added() {
+        rows++;
+        if (++filled < blockRows) return;
+        blockSizes[full++] = filled;
+        filled = 0;
+        if (full == BATCH)
+            reduceBatch();
+    }
+
+    // R of the blocks of the batch by the tree, then folded into running R
+    private void reduceBatch() {
+        if (filled > 0)
+            blockSizes[full++] = filled;
+        if (full == 0) return;
+        Reduction tree = new Reduction(0, full);
+        double[] batch = pool == null ? tree.compute() : pool.invoke(tree);
+        r = r == null ? batch : merge(r, batch, c);
+        full = 0;
+        filled = 0;
+    }
+
+    // Binary tree over blocks from..to-1: leaves are QR of blocks, nodes merge two R
+    private final class Reduction extends RecursiveTask<double[]> {
+        private static final long serialVersionUID = 1L;
+
+        private final int from, to;
+
+        Reduction(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected double[] compute() {
+            if (to - from == 1)
+                return factor(blocks[from], blockSizes[from], c);
+            int mid = (from + to) >>> 1;
+            Reduction left = new Reduction(from, mid);
+            if (pool != null) {
+                left.fork();
+                double[] right = new Reduction(mid, to).compute();
+                return merge(left.join(), right, c);
+            }
+            return merge(left.compute(), new Reduction(mid, to).compute(), c);
+        }
+    }
+
+    // Current R factor of [A|b] (c x c, upper triangular, row-major)
+    public double[] getR() {
+        reduceBatch();
+        return r == null ? new double[c * c] : r.clone();
+    }
+
+    public long getRowCount() {
+        return rows;
+    }
+
+    // x minimizing |b - A*x| for the rows added so far; GENERAL if A has not full column
+    // rank (diagonal of R below EPS, as pivots in SolveMethod), x is null then
+    public LeastSquaresSolution solve() {
+        double[] rf = getR();
+        double residual = Math.abs(rf[n * c + n]);
+        int rank = 0;
+        for (int i = 0; i < n; i++)
+            if (Math.abs(rf[i * c + i]) >= SolveMethod.EPS) rank++;
+        if (rank < n)
+            return new LeastSquaresSolution(null, rank, Solution.Status.GENERAL, rows, residual);
+
+        double[] x = new double[n];
+        for (int i = n - 1; i >= 0; i--) {
+            double s = rf[i * c + n];
+            for (int j = i + 1; j < n; j++)
+                s -= rf[i * c + j] * x[j];
+            x[i] = s / rf[i * c + i];
+        }
+        return new LeastSquaresSolution(x, n, Solution.Status.UNIQUE, rows, residual);
+    }
+
+    // R of Householder QR of block 'a' (rows x c, row-major; overwritten)
+    static double[] factor(double[] a, int rows, int c) {
+        RowKernels kernels = RowKernels.get();
+        double[] v = new double[rows];
+        double[] w = new double[c];
+        int steps = Math.min(rows, c);
+        for (int k = 0; k < steps; k++) {
+            double x0 = a[k * c + k];
+            double below = 0;                           // sum of squares under the diagonal
+            for (int i = k + 1; i < rows; i++) {
+                v[i] = a[i * c + k];
+                below += v[i] * v[i];
+            }
+            if (below == 0 && x0 == 0) continue;
+
+            double norm = Math.sqrt(x0 * x0 + below);
+            double alpha = x0 > 0 ? -norm : norm;       // no cancellation in v[k] = x0 - alpha
+            v[k] = x0 - alpha;
+            double vv = v[k] * v[k] + below;
+
+            Arrays.fill(w, k + 1, c, 0);                // w = v^T * A, row by row
+            for (int i = k; i < rows; i++)
+                if (v[i] != 0)
+                    kernels.axpy(w, 0, a, i * c, v[i], k + 1, c);
+            double beta = -2 / vv;
+            for (int i = k; i < rows; i++) {            // A -= 2 v w^T / (v^T v)
+                if (v[i] != 0)
+                    kernels.axpy(a, i * c, w, 0, beta * v[i], k + 1, c);
+                a[i * c + k] = 0;
+            }
+            a[k * c + k] = alpha;
+        }
+
+        double[] r = new double[c * c];
+        for (int i = 0; i < steps; i++)
+            System.arraycopy(a, i * c + i, r, i * c + i, c - i);
+        return r;
+    }
+
+    // R of QR of two stacked c x c triangles [r1; r2]: column k has nonzeros only in row k
+    // of r1 and rows 0..k of r2, so every reflection touches k+2 rows
+    static double[] merge(double[] r1, double[] r2, int c) {
+        RowKernels kernels = RowKernels.get();
+        double[] top = r1.clone();
+        double[] bottom = r2.clone();
+        double[] v = new double[c];
+        double[] w = new double[c];
+        for (int k = 0; k < c; k++) {
+            double x0 = top[k * c + k];
+            double below = 0;
+            for (int i = 0; i <= k; i++) {
+                v[i] = bottom[i * c + k];
+                below += v[i] * v[i];
+            }
+            if (below == 0) continue;                   // column is already triangular
+
+            double norm = Math.sqrt(x0 * x0 + below);
+            double alpha = x0 > 0 ? -norm : norm;
+            double v0 = x0 - alpha;
+            double vv = v0 * v0 + below;
+
+            Arrays.fill(w, k + 1, c, 0);
+            kernels.axpy(w, 0, top, k * c, v0, k + 1, c);
+            for (int i = 0; i <= k; i++)
+                if (v[i] != 0)
+                    kernels.axpy(w, 0, bottom, i * c, v[i], k + 1, c);
+            double beta = -2 / vv;
+            kernels.axpy(top, k * c, w, 0, beta * v0, k + 1, c);
+            for (int i = 0; i <= k; i++) {
+                if (v[i] != 0)
+                    kernels.axpy(bottom, i * c, w, 0, beta * v[i], k + 1, c);
+                bottom[i * c + k] = 0;
+            }
+            top[k * c + k] = alpha;
+        }
+        return top;
+    }
+}
@@ -0,0 +1,341 @@
+package gauss;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// === Streaming reader of coefficients from text file ===
+// One line of the file is one row of the matrix, numbers are separated by any mix of
+// spaces, tabs and ';'. The file is memory-mapped window by window and numbers are
+// parsed straight from bytes into a primitive array, no line or token Strings are built.
+public final class TextMatrixReader {
+    public static final int MAX_ERRORS = 1000;          // malformed tokens reported, others are only counted
+    static final int WINDOW = 1 << 30;                  // bytes mapped at once
+
+    private static final double[] POW10 = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    // Token which is not a number
+    public static final class ParseError {
+        private final int line, column;
+        private final long offset;
+        private final String token;
+
+        ParseError(int line, int column, long offset, String token) {
+            this.line = line;
+            this.column = column;
+            this.offset = offset;
+            this.token = token;
+        }
+
+        // 1-based line of the file
+        public int getLine() {
+            return line;
+        }
+
+        // 1-based number of the token in line
+        public int getColumn() {
+            return column;
+        }
+
+        // Byte offset of the token in file
+        public long getOffset() {
+            return offset;
+        }
+
+        public String getToken() {
+            return token;
+        }
+
+        @Override
+        public String toString() {
+            return "Malformed coef '" + token + "' at line " + line + ", column " + column;
+        }
+    }
+
+    // Loaded coefficients, rows x cols row-major; missing and malformed ones are 0
+    public static final class Result {
+        private final double[] values;
+        private final int rows, cols, lines;
+        private final List<ParseError> errors;
+        private final int errorCount;
+
+        Result(double[] values, int rows, int cols, int lines, List<ParseError> errors, int errorCount) {
+            this.values = values;
+            this.rows = rows;
+            this.cols = cols;
+            this.lines = lines;
+            this.errors = Collections.unmodifiableList(errors);
+            this.errorCount = errorCount;
+        }
+
+        public double[] getValues() {
+            return values;
+        }
+
+        public double get(int row, int col) {
+            return values[row * cols + col];
+        }
+
+        public int getRows() {
+            return rows;
+        }
+
+        public int getCols() {
+            return cols;
+        }
+
+        // Lines of the file stored into matrix
+        public int getLines() {
+            return lines;
+        }
+
+        // First MAX_ERRORS malformed tokens
+        public List<ParseError> getErrors() {
+            return errors;
+        }
+
+        public int getErrorCount() {
+            return errorCount;
+        }
+    }
+
+    private TextMatrixReader() {
+    }
+
+    // Read augmented matrix, its size is taken from the first line: n+1 numbers - n equations
+    public static Result read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            int cols = countFirstLine(channel);
+            return read(channel, Math.max(cols - 1, 0), cols);
+        }
+    }
+
+    // Read first 'rows' lines and first 'cols' numbers of every line, the rest is skipped
+    public static Result read(Path file, int rows, int cols) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return read(channel, rows, cols);
+        }
+    }
+
+    // Read from a byte array (e.g. request body), same format as a file
+    public static Result read(byte[] text, int rows, int cols) {
+        Parser parser = new Parser(rows, cols);
+        parser.parse(new Source(text), 0, text.length, true);
+        return parser.result();
+    }
+
+    public static Result read(byte[] text) {
+        int cols = countColumns(text);
+        return read(text, Math.max(cols - 1, 0), cols);
+    }
+
+    // Numbers in the first line, nothing is allocated (to check the size before reading)
+    public static int countColumns(byte[] text) {
+        return countTokens(new Source(text), 0, text.length);
+    }
+
+    private static Result read(FileChannel channel, int rows, int cols) throws IOException {
+        Parser parser = new Parser(rows, cols);
+        long size = channel.size();
+        long base = 0;
+        while (base < size && !parser.done()) {
+            long len = Math.min(WINDOW, size - base);
+            MappedByteBuffer window = channel.map(FileChannel.MapMode.READ_ONLY, base, len);
+            boolean last = base + len == size;
+            int consumed = parser.parse(new Source(window), base, (int) len, last);
+            if (consumed == 0 && !last)
+                throw new IOException("Token at offset " + base + " is longer than " + WINDOW + " bytes");
+            base += consumed;
+        }
+        return parser.result();
+    }
+
+    private static int countFirstLine(FileChannel channel) throws IOException {
+        int count = 0;
+        long size = channel.size();
+        for (long base = 0; base < size; ) {            // window by window till the end of the first line
+            long len = Math.min(WINDOW, size - base);
+            Source src = new Source(channel.map(FileChannel.MapMode.READ_ONLY, base, len));
+            int end = 0;
+            while (end < len && src.get(end) != '\n')
+                end++;
+            boolean lineEnd = end < len || base + len == size;
+            int cut = end;
+            if (!lineEnd)                               // don't count a token cut by the window twice
+                while (cut > 0 && !isDelimiter(src.get(cut - 1)))
+                    cut--;
+            count += countTokens(src, 0, lineEnd ? end : cut);
+            if (lineEnd || cut == 0) break;
+            base += cut;
+        }
+        return count;
+    }
+
+    private static int countTokens(Source src, int from, int to) {
+        int count = 0;
+        boolean inToken = false;
+        for (int i = from; i < to; i++) {
+            byte c = src.get(i);
+            if (c == '\n') break;
+            boolean delimiter = isDelimiter(c);
+            if (!delimiter && !inToken) count++;
+            inToken = !delimiter;
+        }
+        return count;
+    }
+
+    static boolean isDelimiter(byte c) {
+        return c == ' ' || c == '\t' || c == ';' || c == '\r';
+    }
+
+    // Bytes of a mapped window or of an array
+    private static final class Source {
+        private final MappedByteBuffer buffer;
+        private final byte[] array;
+
+        Source(MappedByteBuffer buffer) {
+            this.buffer = buffer;
+            this.array = null;
+        }
+
+        Source(byte[] array) {
+            this.buffer = null;
+            this.array = array;
+        }
+
+        byte get(int i) {
+            return array != null ? array[i] : buffer.get(i);
+        }
+    }
+
+    // Parsing state, kept between windows
+    private static final class Parser {
+        final int rows, cols;
+        final double[] values;
+        final List<ParseError> errors = new ArrayList<>();
+        int errorCount;
+        int row, col;                                   // position of next token
+
+        Parser(int rows, int cols) {
+            this.rows = rows;
+            this.cols = cols;
+            this.values = new double[Math.multiplyExact(rows, cols)];
+        }
+
+        boolean done() {
+            return row >= rows;
+        }
+
+        Result result() {
+            return new Result(values, rows, cols, Math.min(row, rows), errors, errorCount);
+        }
+
+        // Parse bytes [0, len) of window starting at file offset 'base'.
+        // Returns number of bytes consumed: a token cut by the end of a not last window is left for the next one.
+        int parse(Source src, long base, int len, boolean last) {
+            int i = 0;
+            while (i < len) {
+                if (row >= rows) return len;
+
+                byte c = src.get(i);
+                if (c == '\n') {
+                    row++;
+                    col = 0;
+                    i++;
+                    continue;
+                }
+                if (isDelimiter(c)) {
+                    i++;
+                    continue;
+                }
+
+                int start = i;                          // token start
+                while (i < len && !isDelimiter(src.get(i)) && src.get(i) != '\n')
+                    i++;
+                if (i == len && !last)
+                    return start;                       // token may continue in the next window
+
+                if (col < cols)
+                    values[row * cols + col] = parseNumber(src, start, i, base);
+                col++;
+            }
+            return len;
+        }
+
+        // Number from bytes [from, to): plain decimal numbers are converted directly,
+        // anything else goes through Double.parseDouble
+        double parseNumber(Source src, int from, int to, long base) {
+            int i = from;
+            boolean negative = false;
+            byte c = src.get(i);
+            if (c == '-' || c == '+') {
+                negative = c == '-';
+                i++;
+            }
+
+            long mantissa = 0;
+            int digits = 0, exp10 = 0;
+            boolean anyDigit = false, dot = false;
+            for (; i < to; i++) {
+                c = src.get(i);
+                if (c >= '0' && c <= '9') {
+                    anyDigit = true;
+                    if (digits < 18) {
+                        mantissa = mantissa * 10 + (c - '0');
+                        if (mantissa != 0) digits++;
+                        if (dot) exp10--;
+                    } else if (!dot)
+                        exp10++;                        // digits beyond long precision
+                } else if (c == '.' && !dot)
+                    dot = true;
+                else
+                    break;
+            }
+
+            if (anyDigit && i < to && (c == 'e' || c == 'E')) {
+                i++;
+                boolean expNegative = false;
+                if (i < to && (src.get(i) == '-' || src.get(i) == '+')) {
+                    expNegative = src.get(i) == '-';
+                    i++;
+                }
+                int e = 0;
+                boolean expDigit = false;
+                for (; i < to && src.get(i) >= '0' && src.get(i) <= '9'; i++) {
+                    if (e < 100000) e = e * 10 + (src.get(i) - '0');
+                    expDigit = true;
+                }
+                if (!expDigit) i = -1;                  // '1e', '1e+' - malformed
+                exp10 += expNegative ? -e : e;
+            }
+
+            if (i == to && anyDigit && digits < 16 && Math.abs(exp10) < POW10.length) {
+                double x = mantissa;                    // exact: mantissa < 2^53, 10^|exp10| is exact double
+                x = exp10 < 0 ? x / POW10[-exp10] : x * POW10[exp10];
+                return negative ? -x : x;
+            }
+
+            byte[] bytes = new byte[to - from];         // rare: long mantissa, big exponent, NaN, hex...
+            for (int k = from; k < to; k++)
+                bytes[k - from] = src.get(k);
+            String token = new String(bytes, StandardCharsets.US_ASCII);
+            try {
+                return Double.parseDouble(token);
+            } catch (NumberFormatException ex) {
+                if (errors.size() < MAX_ERRORS)
+                    errors.add(new ParseError(row + 1, col + 1, base + from, token));
+                errorCount++;
+                return 0;
+            }
+        }
+    }
+}
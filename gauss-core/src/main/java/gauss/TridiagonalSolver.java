@@ -0,0 +1,74 @@
+package gauss;
+
+// === Thomas algorithm for tridiagonal systems, O(n) time and memory ===
+// sub[i] = a[i][i-1] (sub[0] unused), diag[i] = a[i][i], sup[i] = a[i][i+1] (sup[n-1] unused).
+// No pivoting: used only for diagonally dominant matrices (splines, 1-D heat problems),
+// where pivots can't shrink and multipliers stay below 1. Other matrices, and a pivot less
+// than EPS, go to BandedLU with partial pivoting: a small pivot >= EPS against big
+// off-diagonals would lose digits without any warning.
+public final class TridiagonalSolver {
+
+    private TridiagonalSolver() {
+    }
+
+    public static Solution solve(double[] sub, double[] diag, double[] sup, double[] b) {
+        int n = diag.length;
+        if (sub.length != n || sup.length != n || b.length != n)
+            throw new IllegalArgumentException("Diagonals and b must have " + n + " elements");
+        if (n == 0)
+            return new Solution(new double[0], 0, Solution.Status.UNIQUE);
+
+        if (!isDiagonallyDominant(sub, diag, sup))
+            return BandedLU.factor(sub, diag, sup).solve(b);
+
+        double[] c = new double[n];                     // modified super-diagonal
+        double[] x = new double[n];
+        double m = diag[0];
+        if (Math.abs(m) < SolveMethod.EPS)
+            return BandedLU.factor(sub, diag, sup).solve(b);
+        c[0] = sup[0] / m;
+        x[0] = b[0] / m;
+        for (int i = 1; i < n; i++) {                   // forward sweep
+            m = diag[i] - sub[i] * c[i - 1];
+            if (Math.abs(m) < SolveMethod.EPS)
+                return BandedLU.factor(sub, diag, sup).solve(b);
+            c[i] = i < n - 1 ? sup[i] / m : 0;
+            x[i] = (b[i] - sub[i] * x[i - 1]) / m;
+        }
+        for (int i = n - 2; i >= 0; i--)                // back substitution
+            x[i] -= c[i] * x[i + 1];
+        return new Solution(x, n, Solution.Status.UNIQUE);
+    }
+
+    // |diag[i]| >= |sub[i]| + |sup[i]| in every row
+    public static boolean isDiagonallyDominant(double[] sub, double[] diag, double[] sup) {
+        int n = diag.length;
+        for (int i = 0; i < n; i++) {
+            double off = (i > 0 ? Math.abs(sub[i]) : 0) + (i < n - 1 ? Math.abs(sup[i]) : 0);
+            if (!(Math.abs(diag[i]) >= off)) return false;
+        }
+        return true;
+    }
+
+    // The same for tridiagonal part of dense matrix
+    public static boolean isDiagonallyDominant(double[][] a) {
+        int n = a.length;
+        for (int i = 0; i < n; i++) {
+            double off = (i > 0 ? Math.abs(a[i][i - 1]) : 0) + (i < n - 1 ? Math.abs(a[i][i + 1]) : 0);
+            if (!(Math.abs(a[i][i]) >= off)) return false;
+        }
+        return true;
+    }
+
+    // Tridiagonal part of dense matrix
+    public static Solution solve(double[][] a, double[] b) {
+        int n = a.length;
+        double[] sub = new double[n], diag = new double[n], sup = new double[n];
+        for (int i = 0; i < n; i++) {
+            if (i > 0) sub[i] = a[i][i - 1];
+            diag[i] = a[i][i];
+            if (i < n - 1) sup[i] = a[i][i + 1];
+        }
+        return solve(sub, diag, sup, b);
+    }
+}
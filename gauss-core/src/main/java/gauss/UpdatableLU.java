@@ -0,0 +1,222 @@
+package gauss;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+
+// === LU factorization kept across changes of the matrix: low-rank updates in O(n^2) ===
+// After k changes A = A0 + U*W^T (U, W are n x k), A0 is the last factored matrix.
+// Sherman-Morrison-Woodbury:  inv(A)*b = y - Z * inv(C) * W^T*y,  y = inv(A0)*b,
+// Z = inv(A0)*U (one O(n^2) solve per change), C = I + W^T*Z (k x k capacitance matrix).
+// A change of one coefficient, row or column is a rank-1 update. Every solution is checked
+// by its residual against the current A: if the relative error |b - A*x| / (|A|*|x| + |b|)
+// exceeds the tolerance, or there are more than maxUpdates changes, or C is singular,
+// A is factored anew (O(n^3)) and the solve is repeated on the new factorization.
+public class UpdatableLU {
+    public static final int DEFAULT_MAX_UPDATES = 32;
+    public static final double DEFAULT_TOLERANCE = 1e-10;
+
+    private final int n;
+    private final double[] a;                           // current matrix, row-major
+    private final ForkJoinPool pool;                    // used for refactorizations, null - sequential
+    private int maxUpdates = DEFAULT_MAX_UPDATES;
+    private double tolerance = DEFAULT_TOLERANCE;
+
+    private LUDecomposition base;                       // factorization of A0
+    private double[][] us = new double[0][];            // columns of U
+    private double[][] ws = new double[0][];            // columns of W
+    private double[][] zs = new double[0][];            // inv(A0) * u
+    private double[] c = new double[0];                 // capacitance matrix k x k
+    private LUDecomposition capacitance;                // null - no updates or C is singular
+    private int k;                                      // updates since last factorization
+    private int refactorizations;
+
+    // Factor a copy of 'a' (n x n, row-major); source array is not changed
+    public UpdatableLU(double[] a, int n, ForkJoinPool pool) {
+        if (a.length < (long) n * n)
+            throw new IllegalArgumentException("Array of " + a.length + " elements can't hold " + n + "x" + n + " matrix");
+        this.n = n;
+        this.a = Arrays.copyOf(a, n * n);
+        this.pool = pool;
+        refactor();
+        refactorizations = 0;
+    }
+
+    public UpdatableLU(double[][] a) {
+        this(LUDecomposition.toFlat(a), a.length, null);
+    }
+
+    public void setMaxUpdates(int maxUpdates) {
+        if (maxUpdates < 0)
+            throw new IllegalArgumentException("Negative limit of updates: " + maxUpdates);
+        this.maxUpdates = maxUpdates;
+    }
+
+    public void setTolerance(double tolerance) {
+        if (!(tolerance > 0))
+            throw new IllegalArgumentException("Tolerance must be positive: " + tolerance);
+        this.tolerance = tolerance;
+    }
+
+    public int getDimension() {
+        return n;
+    }
+
+    public double get(int row, int col) {
+        return a[row * n + col];
+    }
+
+    // Changes applied as updates since the last factorization
+    public int getUpdateCount() {
+        return k;
+    }
+
+    // Factorizations made after the first one (forced by limit, singular C or error)
+    public int getRefactorizations() {
+        return refactorizations;
+    }
+
+    // A(row,col) = value: rank-1 update (delta * e_row) * e_col^T
+    public void set(int row, int col, double value) {
+        double delta = value - a[row * n + col];
+        if (delta == 0) return;
+        double[] u = new double[n];
+        double[] w = new double[n];
+        u[row] = delta;
+        w[col] = 1;
+        update(u, w);
+    }
+
+    // Row #row of A = values: rank-1 update e_row * (values - a_row)^T
+    public void setRow(int row, double[] values) {
+        if (values.length != n)
+            throw new IllegalArgumentException("Row must have " + n + " coefs");
+        double[] u = new double[n];
+        double[] w = new double[n];
+        boolean changed = false;
+        for (int j = 0; j < n; j++) {
+            w[j] = values[j] - a[row * n + j];
+            changed |= w[j] != 0;
+        }
+        if (!changed) return;
+        u[row] = 1;
+        update(u, w);
+    }
+
+    // Column #col of A = values: rank-1 update (values - a_col) * e_col^T
+    public void setColumn(int col, double[] values) {
+        if (values.length != n)
+            throw new IllegalArgumentException("Column must have " + n + " coefs");
+        double[] u = new double[n];
+        double[] w = new double[n];
+        boolean changed = false;
+        for (int i = 0; i < n; i++) {
+            u[i] = values[i] - a[i * n + col];
+            changed |= u[i] != 0;
+        }
+        if (!changed) return;
+        w[col] = 1;
+        update(u, w);
+    }
+
+    // A += u * w^T
+    public void update(double[] u, double[] w) {
+        if (u.length != n || w.length != n)
+            throw new IllegalArgumentException("Update vectors must have " + n + " elements");
+        for (int i = 0; i < n; i++)
+            if (u[i] != 0)
+                RowKernels.get().axpy(a, i * n, w, 0, u[i], 0, n);
+
+        if (k == maxUpdates || !base.isNonsingular()) {  // Woodbury needs nonsingular A0
+            refactor();
+            refactorizations++;
+            return;
+        }
+
+        double[] z = new double[n];
+        base.solve(u, z);
+        us = append(us, u.clone());
+        ws = append(ws, w.clone());
+        zs = append(zs, z);
+        k++;
+
+        double[] grown = new double[k * k];             // C = I + W^T * Z, one new row and column
+        for (int i = 0; i < k - 1; i++)
+            System.arraycopy(c, i * (k - 1), grown, i * k, k - 1);
+        for (int i = 0; i < k - 1; i++) {
+            grown[i * k + k - 1] = dot(ws[i], z);
+            grown[(k - 1) * k + i] = dot(w, zs[i]);
+        }
+        grown[(k - 1) * k + k - 1] = dot(w, z) + 1;
+        c = grown;
+        capacitance = LUDecomposition.factor(c, k);
+        if (!capacitance.isNonsingular()) {             // A is (close to) singular: let LU tell the status
+            refactor();
+            refactorizations++;
+        }
+    }
+
+    // Factor current A, pending updates are dropped
+    public void refactor() {
+        base = LUDecomposition.factor(a, n, pool);
+        us = ws = zs = new double[0][];
+        c = new double[0];
+        capacitance = null;
+        k = 0;
+    }
+
+    // Solve A*x = b for the current A; 'b' is not changed
+    public Solution solve(double[] b) {
+        if (b.length != n)
+            throw new IllegalArgumentException("Length of b (" + b.length + ") differs from dimension (" + n + ")");
+        if (k == 0)
+            return base.solve(b);
+
+        double[] x = new double[n];
+        base.solve(b, x);                               // y = inv(A0)*b, A0 is nonsingular here
+        double[] t = new double[k];
+        for (int i = 0; i < k; i++)
+            t[i] = dot(ws[i], x);
+        capacitance.solve(t, t);                        // s = inv(C) * W^T*y
+        for (int i = 0; i < k; i++)
+            RowKernels.get().axpy(x, 0, zs[i], 0, -t[i], 0, n);
+
+        if (relativeError(b, x) > tolerance) {          // updates lost accuracy
+            refactor();
+            refactorizations++;
+            return base.solve(b);
+        }
+        return new Solution(x, n, Solution.Status.UNIQUE);
+    }
+
+    // |b - A*x| / (|A|*|x| + |b|), max norms
+    private double relativeError(double[] b, double[] x) {
+        double r = 0, normA = 0, normX = 0, normB = 0;
+        for (int i = 0; i < n; i++) {
+            double s = b[i], row = 0;
+            for (int j = 0; j < n; j++) {
+                double v = a[i * n + j];
+                s -= v * x[j];
+                row += Math.abs(v);
+            }
+            r = Math.max(r, Math.abs(s));
+            normA = Math.max(normA, row);
+            normX = Math.max(normX, Math.abs(x[i]));
+            normB = Math.max(normB, Math.abs(b[i]));
+        }
+        double scale = normA * normX + normB;
+        return scale > 0 ? r / scale : r;
+    }
+
+    private static double[][] append(double[][] list, double[] v) {
+        double[][] grown = Arrays.copyOf(list, list.length + 1);
+        grown[list.length] = v;
+        return grown;
+    }
+
+    private static double dot(double[] x, double[] y) {
+        double s = 0;
+        for (int i = 0; i < x.length; i++)
+            s += x[i] * y[i];
+        return s;
+    }
+}
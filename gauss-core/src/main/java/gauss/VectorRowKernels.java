@@ -0,0 +1,38 @@
+package gauss;
+
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorSpecies;
+
+// === Row operations on SIMD lanes (jdk.incubator.vector) ===
+// Loaded only by RowKernels when the module is present. Full vectors of the preferred
+// width (4 doubles with AVX2, 8 with AVX-512), the tail is done by the scalar loop.
+// Results are bit-for-bit the same as with the scalar kernels.
+final class VectorRowKernels extends RowKernels {
+    private static final VectorSpecies<Double> SPECIES = DoubleVector.SPECIES_PREFERRED;
+
+    @Override
+    public String getName() {
+        return "vector " + SPECIES.vectorBitSize() + " bit";
+    }
+
+    @Override
+    public void axpy(double[] y, int yOff, double[] x, int xOff, double alpha, int from, int to) {
+        int col = from;
+        for (int upper = from + SPECIES.loopBound(to - from); col < upper; col += SPECIES.length()) {
+            DoubleVector vx = DoubleVector.fromArray(SPECIES, x, xOff + col);
+            DoubleVector vy = DoubleVector.fromArray(SPECIES, y, yOff + col);
+            vx.mul(alpha).add(vy).intoArray(y, yOff + col);  // not fma: same rounding as the scalar loop
+        }
+        for (; col < to; col++)
+            y[yOff + col] += alpha * x[xOff + col];
+    }
+
+    @Override
+    public void scale(double[] y, int off, double alpha, int from, int to) {
+        int col = from;
+        for (int upper = from + SPECIES.loopBound(to - from); col < upper; col += SPECIES.length())
+            DoubleVector.fromArray(SPECIES, y, off + col).mul(alpha).intoArray(y, off + col);
+        for (; col < to; col++)
+            y[off + col] *= alpha;
+    }
+}
@@ -0,0 +1,101 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class BandedSolverTest {
+    private static final int N = 50;
+
+    // Random band kl/ku, not diagonally dominant
+    private static double[][] band(Random random, int kl, int ku) {
+        double[][] a = new double[N][N];
+        for (int i = 0; i < N; i++)
+            for (int j = Math.max(0, i - kl); j <= Math.min(N - 1, i + ku); j++)
+                a[i][j] = random.nextDouble() - 0.5;
+        return a;
+    }
+
+    private static double[] vector(Random random) {
+        double[] b = new double[N];
+        for (int i = 0; i < N; i++)
+            b[i] = random.nextDouble();
+        return b;
+    }
+
+    private static double[] multiply(double[][] a, double[] x) {
+        double[] b = new double[a.length];
+        for (int i = 0; i < a.length; i++)
+            for (int j = 0; j < x.length; j++)
+                b[i] += a[i][j] * x[j];
+        return b;
+    }
+
+    @Test
+    void bandedLUMatchesDenseLU() {
+        Random random = new Random(21);
+        double[][] a = band(random, 2, 3);
+        double[] b = vector(random);
+        Solution dense = LUDecomposition.factor(a).solve(b);
+        assertEquals(Solution.Status.UNIQUE, dense.getStatus());
+
+        assertArrayEquals(dense.getX(), BandedLU.factor(a, 2, 3).solve(b).getX(), 1e-10);
+        assertArrayEquals(dense.getX(), BandedLU.factor(SparseMatrix.fromDense(a, N), 2, 3).solve(b).getX(), 1e-10);
+        assertArrayEquals(dense.getX(), LinearSolver.solve(a, b, LinearSolver.Method.AUTO).getX(), 1e-10);
+    }
+
+    @Test
+    void thomasMatchesDenseLUOnDominantMatrix() {
+        Random random = new Random(22);
+        double[][] a = band(random, 1, 1);
+        for (int i = 0; i < N; i++)
+            a[i][i] = (i % 2 == 0 ? 1 : -1) * (1 + random.nextDouble());  // |diag| >= 1 >= |sub| + |sup|
+        double[] b = vector(random);
+        assertTrue(TridiagonalSolver.isDiagonallyDominant(a));
+
+        Solution dense = LUDecomposition.factor(a).solve(b);
+        assertArrayEquals(dense.getX(), TridiagonalSolver.solve(a, b).getX(), 1e-12);
+        assertArrayEquals(dense.getX(), LinearSolver.solve(a, b, LinearSolver.Method.AUTO).getX(), 1e-12);
+    }
+
+    // First pivot passes EPS, but without row exchange its multiplier would be 1e8
+    @Test
+    void smallPivotAgainstBigOffDiagonalsIsPivoted() {
+        Random random = new Random(23);
+        double[][] a = new double[N][N];
+        for (int i = 0; i < N; i++) {
+            a[i][i] = 1 + random.nextDouble();
+            if (i > 0) a[i][i - 1] = 1e5 * (0.5 + random.nextDouble());
+            if (i < N - 1) a[i][i + 1] = 1e5 * (0.5 + random.nextDouble());
+        }
+        a[0][0] = 0.0013;
+        double[] x = vector(random);
+        double[] b = multiply(a, x);
+        assertFalse(TridiagonalSolver.isDiagonallyDominant(a));
+
+        Solution dense = LUDecomposition.factor(a).solve(b);
+        assertArrayEquals(x, dense.getX(), 1e-9);
+        assertArrayEquals(dense.getX(), TridiagonalSolver.solve(a, b).getX(), 1e-9);
+        assertArrayEquals(dense.getX(), LinearSolver.solve(a, b, LinearSolver.Method.AUTO).getX(), 1e-9);
+    }
+
+    @Test
+    void singularBandGetsTheStatusOfDenseLU() {
+        Random random = new Random(24);
+        double[][] a = band(random, 1, 2);
+        for (int j = 0; j < N; j++)
+            a[N - 1][j] = 0;                            // zero equation
+        double[] b = vector(random);
+        assertEquals(Solution.Status.INCONSISTENT, LUDecomposition.factor(a).solve(b).getStatus());
+        assertEquals(Solution.Status.INCONSISTENT, BandedLU.factor(a, 1, 2).solve(b).getStatus());
+
+        b[N - 1] = 0;
+        assertEquals(Solution.Status.GENERAL, LUDecomposition.factor(a).solve(b).getStatus());
+        assertEquals(Solution.Status.GENERAL, BandedLU.factor(a, 1, 2).solve(b).getStatus());
+        assertEquals(N - 1, BandedLU.factor(a, 1, 2).getRank());
+    }
+}
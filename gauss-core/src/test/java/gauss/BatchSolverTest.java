@@ -0,0 +1,63 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class BatchSolverTest {
+    private static final int DIM = 8;
+    private static final int COUNT = 200;
+    private static final int SIZE = DIM * (DIM + 1);
+
+    // COUNT augmented systems one after another, #5 singular and inconsistent
+    private static double[] systems(Random random) {
+        double[] systems = new double[SIZE * COUNT];
+        for (int i = 0; i < systems.length; i++)
+            systems[i] = random.nextDouble() - 0.5;
+        for (int j = 0; j <= DIM; j++)
+            systems[5 * SIZE + (DIM - 1) * (DIM + 1) + j] = j == DIM ? 1 : 0;
+        return systems;
+    }
+
+    @Test
+    void everySystemMatchesLU() {
+        double[] systems = systems(new Random(71));
+        double[] x = new double[DIM * COUNT];
+        Solution.Status[] status = new Solution.Status[COUNT];
+        BatchSolver.solve(systems, DIM, COUNT, x, status);
+
+        for (int s = 0; s < COUNT; s++) {
+            double[] a = new double[DIM * DIM];
+            double[] b = new double[DIM];
+            for (int i = 0; i < DIM; i++) {
+                System.arraycopy(systems, s * SIZE + i * (DIM + 1), a, i * DIM, DIM);
+                b[i] = systems[s * SIZE + i * (DIM + 1) + DIM];
+            }
+            Solution lu = LUDecomposition.factor(a, DIM).solve(b);
+            assertEquals(lu.getStatus(), status[s]);
+            if (lu.isUnique())
+                assertArrayEquals(lu.getX(), Arrays.copyOfRange(x, s * DIM, (s + 1) * DIM), 1e-10);
+        }
+        assertEquals(Solution.Status.INCONSISTENT, status[5]);
+    }
+
+    @Test
+    void pooledBatchIsTheSameAsSequential() {
+        double[] systems = systems(new Random(72));
+        double[] x = new double[DIM * COUNT], pooledX = new double[DIM * COUNT];
+        Solution.Status[] status = new Solution.Status[COUNT], pooledStatus = new Solution.Status[COUNT];
+        BatchSolver.solve(systems, DIM, COUNT, x, status);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            BatchSolver.solve(systems, DIM, COUNT, pooledX, pooledStatus, pool);
+        } finally {
+            pool.shutdown();
+        }
+        assertArrayEquals(x, pooledX, 0);
+        assertArrayEquals(status, pooledStatus);
+    }
+}
@@ -0,0 +1,80 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+
+class CholeskyDecompositionTest {
+    private static final int N = 150;                   // more than one block
+
+    // Symmetric, 'shift' on the diagonal (big - positive definite)
+    private static double[][] matrix(Random random, double shift) {
+        double[][] a = new double[N][N];
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < i; j++)
+                a[i][j] = a[j][i] = random.nextDouble() - 0.5;
+            a[i][i] = shift;
+        }
+        return a;
+    }
+
+    private static double[] vector(Random random) {
+        double[] b = new double[N];
+        for (int i = 0; i < N; i++)
+            b[i] = random.nextDouble();
+        return b;
+    }
+
+    private static double[] pack(double[][] a) {
+        double[] lower = new double[CholeskyDecomposition.packedSize(N)];
+        for (int i = 0, p = 0; i < N; i++)
+            for (int j = 0; j <= i; j++)
+                lower[p++] = a[i][j];
+        return lower;
+    }
+
+    @Test
+    void denseAndPackedFactorsMatchLU() {
+        Random random = new Random(41);
+        double[][] a = matrix(random, N);
+        double[] b = vector(random);
+        Solution lu = LUDecomposition.factor(a).solve(b);
+
+        assertArrayEquals(lu.getX(), CholeskyDecomposition.factor(a).solve(b).getX(), 1e-10);
+        assertArrayEquals(lu.getX(), LinearSolver.solve(a, b, LinearSolver.Method.CHOLESKY).getX(), 1e-10);
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertArrayEquals(lu.getX(), CholeskyDecomposition.factor(a, pool).solve(b).getX(), 1e-10);
+            assertArrayEquals(lu.getX(), CholeskyDecomposition.factorPacked(pack(a), N, pool).solve(b).getX(), 1e-10);
+            assertArrayEquals(lu.getX(), LinearSolver.solveSymmetric(pack(a), N, b, pool).getX(), 1e-10);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void indefiniteMatrixFallsBackToLU() {
+        Random random = new Random(42);
+        double[][] a = matrix(random, 0.5);
+        a[N - 1][N - 1] = -N;                           // negative diagonal: not positive definite
+        double[] b = vector(random);
+        assertNull(CholeskyDecomposition.factor(a));
+        assertNull(CholeskyDecomposition.factorPacked(pack(a), N, null));
+
+        Solution lu = LUDecomposition.factor(a).solve(b);
+        Solution s = LinearSolver.solveSymmetric(pack(a), N, b, null);
+        assertEquals(lu.getStatus(), s.getStatus());
+        assertArrayEquals(lu.getX(), s.getX(), 1e-10);
+    }
+
+    @Test
+    void unpackAndOffsetsBeyondIntSquares() {
+        double[][] a = matrix(new Random(43), N);
+        assertArrayEquals(LUDecomposition.toFlat(a), CholeskyDecomposition.unpack(pack(a), N), 0);
+        assertEquals(50_000 * 50_001L / 2, CholeskyDecomposition.offset(50_000));   // 50000^2 overflows int
+    }
+}
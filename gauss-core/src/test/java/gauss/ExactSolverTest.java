@@ -0,0 +1,70 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.math.BigInteger;
+import org.junit.jupiter.api.Test;
+
+class ExactSolverTest {
+
+    // Hilbert matrix H*x = 1 by rationals: x(i) are the row sums of the integer inverse of H
+    @Test
+    void hilbertSystemIsSolvedExactly() {
+        int n = 8;
+        BigInteger[][] num = new BigInteger[n][n + 1];
+        BigInteger[][] den = new BigInteger[n][n + 1];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                num[i][j] = BigInteger.ONE;
+                den[i][j] = BigInteger.valueOf(i + j + 1);
+            }
+            num[i][n] = BigInteger.ONE;
+            den[i][n] = BigInteger.ONE;
+        }
+
+        ExactSolution solution = ExactSolver.solve(num, den, null);
+
+        assertEquals(Solution.Status.UNIQUE, solution.getStatus());
+        for (int i = 1; i <= n; i++) {
+            BigInteger expected = BigInteger.ZERO;
+            for (int j = 1; j <= n; j++)
+                expected = expected.add(inverseHilbert(n, i, j));
+            assertEquals(expected, solution.getNumerator(i - 1), "x" + i);
+            assertEquals(BigInteger.ONE, solution.getDenominator(i - 1), "x" + i);
+        }
+    }
+
+    @Test
+    void fractionsAreReconstructed() {
+        long[][] ab = {{2, 1, 1}, {1, 3, 2}};          // x = 1/5, y = 3/5
+        ExactSolution solution = ExactSolver.solve(ab, null);
+
+        assertEquals(Solution.Status.UNIQUE, solution.getStatus());
+        assertEquals("1/5", solution.toString(0));
+        assertEquals("3/5", solution.toString(1));
+    }
+
+    @Test
+    void degenerateSystemsHaveTheirStatus() {
+        long[][] general = {{1, 2, 3}, {2, 4, 6}};
+        long[][] inconsistent = {{1, 2, 3}, {2, 4, 7}};
+
+        assertEquals(Solution.Status.GENERAL, ExactSolver.solve(general, null).getStatus());
+        assertEquals(Solution.Status.INCONSISTENT, ExactSolver.solve(inconsistent, null).getStatus());
+    }
+
+    // (H^-1)ij = (-1)^(i+j) (i+j-1) C(n+i-1, n-j) C(n+j-1, n-i) C(i+j-2, i-1)^2, 1-based
+    private static BigInteger inverseHilbert(int n, int i, int j) {
+        BigInteger c = binomial(i + j - 2, i - 1);
+        BigInteger v = BigInteger.valueOf(i + j - 1).multiply(binomial(n + i - 1, n - j))
+                .multiply(binomial(n + j - 1, n - i)).multiply(c).multiply(c);
+        return (i + j) % 2 == 0 ? v : v.negate();
+    }
+
+    private static BigInteger binomial(int n, int k) {
+        BigInteger c = BigInteger.ONE;
+        for (int i = 1; i <= k; i++)
+            c = c.multiply(BigInteger.valueOf(n - k + i)).divide(BigInteger.valueOf(i));
+        return c;
+    }
+}
@@ -0,0 +1,95 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class IterativeMethodTest {
+    private static final int GRID = 15;
+    private static final int N = GRID * GRID;
+
+    // 5-point Laplacian on GRID x GRID points, 'wind' skews the neighbours along rows
+    // (0 - symmetric positive definite, else nonsymmetric and still dominant)
+    private static double[][] laplacian(double wind) {
+        double[][] a = new double[N][N];
+        for (int i = 0; i < GRID; i++)
+            for (int j = 0; j < GRID; j++) {
+                int k = i * GRID + j;
+                a[k][k] = 4;
+                if (i > 0) a[k][k - GRID] = -1;
+                if (i < GRID - 1) a[k][k + GRID] = -1;
+                if (j > 0) a[k][k - 1] = -1 - wind;
+                if (j < GRID - 1) a[k][k + 1] = -1 + wind;
+            }
+        return a;
+    }
+
+    private static double[] vector(Random random) {
+        double[] b = new double[N];
+        for (int i = 0; i < N; i++)
+            b[i] = random.nextDouble();
+        return b;
+    }
+
+    private static void assertSameAsLU(double[][] a, double[] b, IterativeMethod method) {
+        Solution iterative = method.doMethod();
+        Solution lu = LUDecomposition.factor(a).solve(b);
+        assertEquals(Solution.Status.UNIQUE, iterative.getStatus());
+        assertArrayEquals(lu.getX(), iterative.getX(), 1e-8);
+    }
+
+    @Test
+    void conjugateGradientMatchesLUWithEveryPreconditioner() {
+        double[][] a = laplacian(0);
+        double[] b = vector(new Random(31));
+        SparseMatrix s = SparseMatrix.fromDense(a, N);
+        Preconditioner[] preconditioners = {null, new JacobiPreconditioner(s), new ILU0Preconditioner(s)};
+        for (Preconditioner preconditioner : preconditioners) {
+            IterativeMethod cg = new ConjugateGradientMethod(s, b);
+            cg.setPreconditioner(preconditioner);
+            assertSameAsLU(a, b, cg);
+        }
+    }
+
+    @Test
+    void gmresMatchesLUOnNonsymmetricMatrix() {
+        double[][] a = laplacian(0.5);
+        double[] b = vector(new Random(32));
+        SparseMatrix s = SparseMatrix.fromDense(a, N);
+        GMRESMethod gmres = new GMRESMethod(s, b);
+        assertSameAsLU(a, b, gmres);
+
+        gmres = new GMRESMethod(s, b);
+        gmres.setRestart(5);
+        gmres.setPreconditioner(new ILU0Preconditioner(s));
+        assertSameAsLU(a, b, gmres);
+    }
+
+    @Test
+    void sorMatchesLU() {
+        double[][] a = laplacian(0.5);
+        double[] b = vector(new Random(33));
+        SORMethod sor = new SORMethod(SparseMatrix.fromDense(a, N), b);
+        sor.setRelaxation(1.5);
+        assertSameAsLU(a, b, sor);
+        assertSameAsLU(a, b, LinearSolver.createIterative(SparseMatrix.fromDense(a, N), b, LinearSolver.Method.SOR));
+    }
+
+    @Test
+    void limitOfIterationsGivesNotConverged() {
+        double[][] a = laplacian(0);
+        double[] b = vector(new Random(34));
+        IterativeMethod cg = new ConjugateGradientMethod(SparseMatrix.fromDense(a, N), b);
+        cg.setMaxIterations(3);
+        Solution s = cg.doMethod();
+        assertEquals(Solution.Status.NOT_CONVERGED, s.getStatus());
+        assertNull(s.getX());
+        assertEquals(3, cg.getIterations());
+        assertTrue(cg.getResidualHistory()[3] > IterativeMethod.DEFAULT_TOLERANCE);
+        assertEquals(N, cg.getLastIterate().length);
+    }
+}
@@ -0,0 +1,82 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class MixedPrecisionSolverTest {
+
+    // scale / (i + j + 1): Hilbert matrix, scaled so that its pivots pass EPS
+    private static double[] hilbert(int n, double scale) {
+        double[] a = new double[n * n];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++)
+                a[i * n + j] = scale / (i + j + 1);
+        return a;
+    }
+
+    private static double[] vector(Random random, int n) {
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++)
+            b[i] = random.nextDouble();
+        return b;
+    }
+
+    @Test
+    void refinedSolutionMatchesLU() {
+        int n = 100;
+        Random random = new Random(51);
+        double[] a = new double[n * n];
+        for (int i = 0; i < n * n; i++)
+            a[i] = random.nextDouble() - 0.5;
+        for (int i = 0; i < n; i++)
+            a[i * n + i] += n;
+        double[] b = vector(random, n);
+
+        RefinedSolution s = MixedPrecisionSolver.solve(a, n, b, null);
+        assertTrue(s.isRefined());
+        assertEquals(Solution.Status.UNIQUE, s.getStatus());
+        assertArrayEquals(LUDecomposition.factor(a, n).solve(b).getX(), s.getX(), 1e-12);
+        assertTrue(s.getConditionEstimate() < 10);
+    }
+
+    @Test
+    void moderatelyIllConditionedMatrixIsStillRefined() {
+        double[] a = hilbert(6, 1e6);                   // cond 1.5e7, a few float digits are left
+        double[] b = vector(new Random(52), 6);
+        RefinedSolution s = MixedPrecisionSolver.solve(a, 6, b, null);
+        assertTrue(s.isRefined());
+        assertTrue(s.getIterations() > 1);
+        Solution lu = LUDecomposition.factor(a, 6).solve(b);
+        for (int i = 0; i < 6; i++)
+            assertEquals(lu.getX()[i], s.getX()[i], 1e-8 * Math.abs(lu.getX()[i]));
+    }
+
+    // cond 1.5e10: float LU is nonsingular, but refinement does not converge
+    @Test
+    void nonConvergentRefinementFallsBackToDoubleLU() {
+        double[] a = hilbert(8, 1e9);
+        double[] b = vector(new Random(53), 8);
+        RefinedSolution s = MixedPrecisionSolver.solve(a, 8, b, null);
+        assertFalse(s.isRefined());
+        assertEquals(Solution.Status.UNIQUE, s.getStatus());
+        assertArrayEquals(LUDecomposition.factor(a, 8).solve(b).getX(), s.getX(), 0);
+        assertTrue(s.getConditionEstimate() > 1e9);
+    }
+
+    @Test
+    void elementsBeyondFloatRangeFallBackToDoubleLU() {
+        double[] a = {1e40, 1, 1, 2};
+        double[] b = {1e40, 3};
+        RefinedSolution s = MixedPrecisionSolver.solve(a, 2, b, null);
+        assertFalse(s.isRefined());
+        double[] x = LUDecomposition.factor(a, 2).solve(b).getX();
+        assertArrayEquals(x, s.getX(), 0);
+        double[][] rows = {{1e40, 1}, {1, 2}};
+        assertArrayEquals(x, LinearSolver.solve(rows, b, LinearSolver.Method.MIXED).getX(), 0);
+    }
+}
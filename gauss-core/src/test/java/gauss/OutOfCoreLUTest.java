@@ -0,0 +1,98 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class OutOfCoreLUTest {
+    private static final int N = 50;
+    private static final int WIDTH = 16;                // last panel is 2 columns wide
+
+    // Pivot of column #j is in row #(j+17) % N, so rows move across panel boundaries
+    private static double[][] matrix(Random random, int n) {
+        double[][] a = new double[n][n];
+        for (int i = 0; i < n; i++)
+            for (int j = 0; j < n; j++)
+                a[i][j] = random.nextDouble() - 0.5;
+        for (int j = 0; j < n; j++)
+            a[(j + 17) % n][j] += n;
+        return a;
+    }
+
+    private static double[] vector(Random random, int n) {
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++)
+            b[i] = random.nextDouble();
+        return b;
+    }
+
+    private static OffHeapMatrix offHeap(double[][] a) {
+        OffHeapMatrix m = OffHeapMatrix.allocate(a.length, a.length, WIDTH);
+        for (int i = 0; i < a.length; i++)
+            m.setRow(i, 0, a[i], 0, a.length);
+        return m;
+    }
+
+    @Test
+    void panelsNotDividingTheMatrixMatchLU() {
+        Random random = new Random(61);
+        double[][] a = matrix(random, N);
+        double[] b = vector(random, N);
+        Solution lu = LUDecomposition.factor(a).solve(b);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try (OffHeapMatrix m = offHeap(a); OffHeapMatrix m2 = offHeap(a)) {
+            assertEquals(4, m.getPanels());
+            assertArrayEquals(lu.getX(), OutOfCoreLU.factor(m, null).solve(b).getX(), 1e-12);
+            OutOfCoreLU pooled = OutOfCoreLU.factor(m2, pool);
+            assertTrue(pooled.isNonsingular());
+            assertArrayEquals(lu.getX(), pooled.solve(b).getX(), 1e-12);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void singularMatrixGetsTheRankAndStatusOfLU() {
+        Random random = new Random(62);
+        double[][] a = matrix(random, N);
+        for (int i = 0; i < N; i++)
+            a[i][WIDTH] = a[i][WIDTH - 1];              // equal columns on both sides of the boundary
+        double[] b = vector(random, N);
+        LUDecomposition lu = LUDecomposition.factor(a);
+
+        try (OffHeapMatrix m = offHeap(a)) {
+            OutOfCoreLU f = OutOfCoreLU.factor(m, null);
+            assertFalse(f.isNonsingular());
+            assertEquals(lu.getRank(), f.getRank());
+            Solution s = f.solve(b);
+            assertEquals(lu.solve(b).getStatus(), s.getStatus());
+            assertNull(s.getX());
+        }
+    }
+
+    @Test
+    void streamedFileMatchesLU(@TempDir Path dir) throws IOException {
+        int n = 300;
+        Random random = new Random(63);
+        double[][] a = matrix(random, n);
+        double[] b = vector(random, n);
+        Path file = dir.resolve("system" + BinaryMatrixFile.EXTENSION);
+        BinaryMatrixFile.write(file, LinearSolver.augment(a, b));
+
+        Path storage = dir.resolve("lu.bin");
+        Solution s = LinearSolver.solveOutOfCore(file, storage, null);
+        assertTrue(Files.exists(storage));
+        assertArrayEquals(LUDecomposition.factor(a).solve(b).getX(), s.getX(), 1e-12);
+    }
+}
@@ -0,0 +1,33 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Random;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+class ParallelSolveTest {
+    private static final int N = 300;                   // rows x columns above ParallelRows.MIN_TASK_WORK
+
+    // Every element is updated by one thread in the sequential order: the same bits
+    @ParameterizedTest
+    @EnumSource(value = LinearSolver.Method.class, names = {"GAUSS", "JORDAN", "LU"})
+    void poolGivesSequentialResult(LinearSolver.Method method) {
+        Random random = new Random(17);
+        double[][] a = new double[N][N];
+        double[] b = new double[N];
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++)
+                a[i][j] = random.nextDouble() - 0.5;
+            b[i] = random.nextDouble();
+        }
+
+        Solution sequential = LinearSolver.solve(a, b, method);
+        Solution parallel = LinearSolver.solve(a, b, method, 4);
+
+        assertEquals(Solution.Status.UNIQUE, sequential.getStatus());
+        assertEquals(sequential.getStatus(), parallel.getStatus());
+        assertArrayEquals(sequential.getX(), parallel.getX(), 0);
+    }
+}
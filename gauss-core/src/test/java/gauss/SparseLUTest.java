@@ -0,0 +1,80 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class SparseLUTest {
+    private static final int N = 200;
+
+    // A few nonzeros per row scattered over all columns, so the matrix is not banded
+    private static double[][] matrix(Random random) {
+        double[][] a = new double[N][N];
+        for (int i = 0; i < N; i++) {
+            for (int k = 0; k < 4; k++)
+                a[i][random.nextInt(N)] = random.nextDouble() - 0.5;
+            a[i][i] += 2;
+        }
+        return a;
+    }
+
+    private static double[] vector(Random random) {
+        double[] b = new double[N];
+        for (int i = 0; i < N; i++)
+            b[i] = random.nextDouble();
+        return b;
+    }
+
+    @Test
+    void naturalAndReverseCuthillMcKeeOrdersMatchDenseLU() {
+        Random random = new Random(3);
+        double[][] a = matrix(random);
+        double[] b = vector(random);
+        SparseMatrix s = SparseMatrix.fromDense(a, N);
+        Solution dense = LUDecomposition.factor(a).solve(b);
+        assertEquals(Solution.Status.UNIQUE, dense.getStatus());
+
+        for (SparseLU.Ordering ordering : SparseLU.Ordering.values()) {
+            Solution sparse = SparseLU.factor(s, ordering).solve(b);
+            assertEquals(Solution.Status.UNIQUE, sparse.getStatus());
+            assertArrayEquals(dense.getX(), sparse.getX(), 1e-10);
+        }
+        assertArrayEquals(dense.getX(), LinearSolver.solve(s, b).getX(), 1e-10);
+    }
+
+    @Test
+    void reverseCuthillMcKeeIsAPermutation() {
+        int[] q = SparseLU.reverseCuthillMcKee(SparseMatrix.fromDense(matrix(new Random(5)), N));
+        boolean[] taken = new boolean[N];
+        for (int j : q)
+            taken[j] = true;
+        for (boolean t : taken)
+            assertTrue(t);
+    }
+
+    @Test
+    void singularMatrixGetsTheStatusOfDenseLU() {
+        Random random = new Random(9);
+        double[][] a = matrix(random);
+        a[17] = a[42].clone();                          // two equal rows
+        double[] b = vector(random);
+        SparseMatrix s = SparseMatrix.fromDense(a, N);
+
+        b[17] = b[42];
+        Solution dense = LUDecomposition.factor(a).solve(b);
+        Solution sparse = SparseLU.factor(s).solve(b);
+        assertEquals(Solution.Status.GENERAL, dense.getStatus());
+        assertEquals(dense.getStatus(), sparse.getStatus());
+
+        b[17] += 1;
+        dense = LUDecomposition.factor(a).solve(b);
+        sparse = SparseLU.factor(s).solve(b);
+        assertEquals(Solution.Status.INCONSISTENT, dense.getStatus());
+        assertEquals(dense.getStatus(), sparse.getStatus());
+        assertNull(sparse.getX());
+    }
+}
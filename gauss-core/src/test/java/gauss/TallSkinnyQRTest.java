@@ -0,0 +1,74 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TallSkinnyQRTest {
+    private static final int M = 100_000, N = 6;       // about 5000 rows per block: two batches of blocks
+
+    private final double[][] a = new double[M][N];
+    private final double[] b = new double[M];
+
+    TallSkinnyQRTest() {
+        Random random = new Random(3);
+        for (int i = 0; i < M; i++) {
+            for (int j = 0; j < N; j++)
+                a[i][j] = random.nextGaussian();
+            b[i] = random.nextGaussian();
+        }
+    }
+
+    // x of A^T*A*x = A^T*b, A is well conditioned here
+    private double[] normalEquations() {
+        double[][] ata = new double[N][N];
+        double[] atb = new double[N];
+        for (int i = 0; i < M; i++)
+            for (int j = 0; j < N; j++) {
+                atb[j] += a[i][j] * b[i];
+                for (int k = 0; k < N; k++)
+                    ata[j][k] += a[i][j] * a[i][k];
+            }
+        return LUDecomposition.factor(ata).solve(atb).getX();
+    }
+
+    @Test
+    void matchesNormalEquations() {
+        LeastSquaresSolution solution = TallSkinnyQR.solve(a, b, null);
+
+        assertEquals(Solution.Status.UNIQUE, solution.getStatus());
+        assertEquals(M, solution.getRows());
+        assertArrayEquals(normalEquations(), solution.getX(), 1e-12);
+    }
+
+    @Test
+    void parallelReductionGivesSameBits() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            assertArrayEquals(TallSkinnyQR.solve(a, b, null).getX(), TallSkinnyQR.solve(a, b, pool).getX(), 0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void streamedFileGivesSameSolution(@TempDir Path dir) throws IOException {
+        double[][] ab = new double[M][];
+        for (int i = 0; i < M; i++) {
+            ab[i] = Arrays.copyOf(a[i], N + 1);
+            ab[i][N] = b[i];
+        }
+        Path file = Files.createFile(dir.resolve("ls" + BinaryMatrixFile.EXTENSION));
+        BinaryMatrixFile.write(file, ab);
+
+        assertArrayEquals(TallSkinnyQR.solve(a, b, null).getX(), TallSkinnyQR.solve(file, null).getX(), 1e-12);
+    }
+}
@@ -0,0 +1,84 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class UpdatableLUTest {
+    private static final int N = 40;
+
+    // Diagonally dominant, so every edit below keeps A nonsingular
+    private static double[] matrix(Random random) {
+        double[] a = new double[N * N];
+        for (int i = 0; i < N; i++) {
+            for (int j = 0; j < N; j++)
+                a[i * N + j] = random.nextDouble() - 0.5;
+            a[i * N + i] += N;
+        }
+        return a;
+    }
+
+    private static double[] vector(Random random) {
+        double[] b = new double[N];
+        for (int i = 0; i < N; i++)
+            b[i] = random.nextDouble();
+        return b;
+    }
+
+    private static void assertSameAsFreshLU(UpdatableLU lu, double[] a, double[] b) {
+        Solution updated = lu.solve(b);
+        Solution fresh = LUDecomposition.factor(a, N).solve(b);
+        assertEquals(Solution.Status.UNIQUE, updated.getStatus());
+        assertArrayEquals(fresh.getX(), updated.getX(), 1e-10);
+    }
+
+    @Test
+    void coefficientRowAndColumnUpdatesMatchFreshFactorization() {
+        Random random = new Random(7);
+        double[] a = matrix(random);
+        double[] b = vector(random);
+        UpdatableLU lu = new UpdatableLU(a, N, null);
+
+        lu.set(3, 5, 2.5);
+        a[3 * N + 5] = 2.5;
+        assertSameAsFreshLU(lu, a, b);
+
+        double[] row = vector(random);
+        row[11] += N;
+        lu.setRow(11, row);
+        System.arraycopy(row, 0, a, 11 * N, N);
+        assertSameAsFreshLU(lu, a, b);
+
+        double[] col = vector(random);
+        col[20] += N;
+        lu.setColumn(20, col);
+        for (int i = 0; i < N; i++)
+            a[i * N + 20] = col[i];
+        assertSameAsFreshLU(lu, a, b);
+
+        assertEquals(3, lu.getUpdateCount());
+        assertEquals(0, lu.getRefactorizations());
+    }
+
+    @Test
+    void refactorsAfterTheLimitOfUpdates() {
+        Random random = new Random(11);
+        double[] a = matrix(random);
+        double[] b = vector(random);
+        UpdatableLU lu = new UpdatableLU(a, N, null);
+        lu.setMaxUpdates(4);
+
+        for (int k = 0; k < 6; k++) {
+            int i = random.nextInt(N), j = random.nextInt(N);
+            double v = i == j ? N : random.nextDouble();
+            lu.set(i, j, v);
+            a[i * N + j] = v;
+            assertSameAsFreshLU(lu, a, b);
+        }
+        assertTrue(lu.getUpdateCount() <= 4);
+        assertTrue(lu.getRefactorizations() >= 1);
+    }
+}
@@ -0,0 +1,158 @@
+package gauss;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+// === LRU cache of LU factorizations keyed by SHA-256 of the coefficient matrix ===
+// A repeated matrix is solved in O(n^2) with the kept LU (it is immutable, shared by threads).
+// The size is limited by the number of matrix elements kept, the least recently used
+// factorizations are dropped first. Concurrent requests with the same new matrix wait for
+// one factorization instead of factoring it each. Small systems (solveIfRepeated) are kept
+// only from their second sight: a one-off small system is cheaper to solve in a batch.
+public final class FactorizationCache {
+    public static final long DEFAULT_MAX_ELEMENTS = 1L << 25;   // 256 MB of doubles
+    public static final int SEEN_LIMIT = 1 << 14;       // small matrices remembered by digest only
+
+    // n and digest of A
+    private static final class Key {
+        private final int n;
+        private final byte[] digest;
+
+        Key(int n, byte[] digest) {
+            this.n = n;
+            this.digest = digest;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && ((Key) o).n == n && Arrays.equals(((Key) o).digest, digest);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * n + Arrays.hashCode(digest);
+        }
+    }
+
+    private final long maxElements;
+    private final ForkJoinPool pool;                    // for factorizations, null - sequential
+    private final ServerStats stats;
+    private final LinkedHashMap<Key, CompletableFuture<LUDecomposition>> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long elements;
+    private final LinkedHashMap<Key, Boolean> seen = new LinkedHashMap<>(16, 0.75f, true) {
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, Boolean> eldest) {
+            return size() > SEEN_LIMIT;
+        }
+    };
+
+    public FactorizationCache(long maxElements, ForkJoinPool pool, ServerStats stats) {
+        this.maxElements = maxElements;
+        this.pool = pool;
+        this.stats = stats;
+    }
+
+    // Solve A*x = b; A is the n x n part of augmented [A|b] rows (row-major, width n+1)
+    public Solution solve(double[] augmented, int n) {
+        return solve(augmented, n, new Key(n, digest(augmented, n)));
+    }
+
+    // The same if A is kept or was seen before (then it is factored and kept now);
+    // null for the first sight of A, the caller solves it some other way
+    public Solution solveIfRepeated(double[] augmented, int n) {
+        Key key = new Key(n, digest(augmented, n));
+        synchronized (this) {
+            if (!entries.containsKey(key) && seen.put(key, Boolean.TRUE) == null) {
+                stats.cacheMisses.increment();
+                return null;
+            }
+            seen.remove(key);
+        }
+        return solve(augmented, n, key);
+    }
+
+    private Solution solve(double[] augmented, int n, Key key) {
+        double[] b = new double[n];
+        for (int i = 0; i < n; i++)
+            b[i] = augmented[i * (n + 1) + n];
+
+        CompletableFuture<LUDecomposition> entry;
+        boolean owner = false;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry == null) {
+                entry = new CompletableFuture<>();
+                entries.put(key, entry);
+                elements += (long) n * n;
+                owner = true;
+                evict();
+            }
+        }
+        if (!owner) {
+            stats.cacheHits.increment();
+            return entry.join().solve(b);
+        }
+
+        stats.cacheMisses.increment();
+        try {
+            double[] a = new double[n * n];
+            for (int i = 0; i < n; i++)
+                System.arraycopy(augmented, i * (n + 1), a, i * n, n);
+            entry.complete(LUDecomposition.factorInPlace(a, n, pool));
+        } catch (RuntimeException | Error ex) {
+            synchronized (this) {
+                if (entries.remove(key, entry))
+                    elements -= (long) n * n;
+            }
+            entry.completeExceptionally(ex);
+            throw ex;
+        }
+        return entry.join().solve(b);
+    }
+
+    // Drop least recently used entries over the limit (the newest one is always kept)
+    private void evict() {
+        Iterator<Map.Entry<Key, CompletableFuture<LUDecomposition>>> it = entries.entrySet().iterator();
+        while (elements > maxElements && entries.size() > 1) {
+            Key eldest = it.next().getKey();
+            it.remove();
+            elements -= (long) eldest.n * eldest.n;
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long elements() {
+        return elements;
+    }
+
+    // SHA-256 of n and the bits of A, row by row
+    private static byte[] digest(double[] augmented, int n) {
+        MessageDigest sha;
+        try {
+            sha = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+        ByteBuffer row = ByteBuffer.allocate(n * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        sha.update(ByteBuffer.allocate(4).putInt(0, n));
+        for (int i = 0; i < n; i++) {
+            row.clear();
+            row.asDoubleBuffer().put(augmented, i * (n + 1), n);
+            sha.update(row);
+        }
+        return sha.digest();
+    }
+}
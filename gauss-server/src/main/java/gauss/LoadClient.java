@@ -0,0 +1,88 @@
+package gauss;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+// === Load generator for SolveServer ===
+//   java -cp ... gauss.LoadClient [url] [threads] [requests] [dim] [repeat]
+// 'repeat' - fraction of requests sending one of a few fixed matrices (hits of the factorization cache,
+// small matrices included: they are cached from their second request).
+// Prints throughput and latency percentiles, then /stats of the server.
+public final class LoadClient {
+    private static final int SHARED_MATRICES = 4;
+
+    private LoadClient() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String url = args.length > 0 ? args[0] : "http://127.0.0.1:" + SolveServer.DEFAULT_PORT;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 64;
+        int requests = args.length > 2 ? Integer.parseInt(args[2]) : 10000;
+        int dim = args.length > 3 ? Integer.parseInt(args[3]) : 16;
+        double repeat = args.length > 4 ? Double.parseDouble(args[4]) : 0.5;
+
+        String[] shared = new String[SHARED_MATRICES];
+        Random random = new Random(1);
+        for (int i = 0; i < shared.length; i++)
+            shared[i] = system(dim, random);
+
+        HttpClient client = HttpClient.newHttpClient();
+        URI solve = URI.create(url + "/solve");
+        long[] latency = new long[requests];
+        ExecutorService workers = Executors.newFixedThreadPool(threads);
+        Future<?>[] done = new Future<?>[requests];
+        long start = System.nanoTime();
+        for (int r = 0; r < requests; r++) {
+            int index = r;
+            done[r] = workers.submit(() -> {
+                ThreadLocalRandom local = ThreadLocalRandom.current();
+                String body = local.nextDouble() < repeat ? shared[local.nextInt(SHARED_MATRICES)] : system(dim, local);
+                long sent = System.nanoTime();
+                HttpResponse<String> response = client.send(HttpRequest.newBuilder(solve)
+                        .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+                latency[index] = System.nanoTime() - sent;
+                if (response.statusCode() != 200)
+                    throw new IllegalStateException("HTTP " + response.statusCode() + ": " + response.body());
+                return null;
+            });
+        }
+        for (Future<?> f : done)
+            f.get();
+        double seconds = (System.nanoTime() - start) / 1e9;
+        workers.shutdown();
+
+        Arrays.sort(latency);
+        System.out.printf("%d requests of %dx%d on %d threads in %.2f s: %.0f req/s%n",
+                requests, dim, dim + 1, threads, seconds, requests / seconds);
+        System.out.printf("latency ms: p50 %.2f  p90 %.2f  p99 %.2f  max %.2f%n",
+                percentile(latency, 0.5), percentile(latency, 0.9), percentile(latency, 0.99), latency[requests - 1] / 1e6);
+        System.out.print(client.send(HttpRequest.newBuilder(URI.create(url + "/stats")).build(),
+                HttpResponse.BodyHandlers.ofString()).body());
+    }
+
+    // Random diagonally dominant system as text [A|b], one equation per line
+    private static String system(int dim, Random random) {
+        StringBuilder text = new StringBuilder(dim * (dim + 1) * 8);
+        for (int i = 0; i < dim; i++) {
+            for (int j = 0; j <= dim; j++) {
+                double v = random.nextInt(19) - 9;
+                if (i == j)
+                    v += 10 * dim;
+                text.append(v).append(j < dim ? ' ' : '\n');
+            }
+        }
+        return text.toString();
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) (p * sorted.length))] / 1e6;
+    }
+}
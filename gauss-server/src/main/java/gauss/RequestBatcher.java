@@ -0,0 +1,107 @@
+package gauss;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// === Coalesces concurrent small systems into batched solves ===
+// Handler threads queue their systems and wait for the result. One batching thread takes
+// everything queued (up to MAX_BATCH), groups it by dimension and solves every group by
+// BatchSolver in one packed array across the pool. No artificial delay: while a batch is
+// solved the next requests queue up, so batches grow with the load by themselves.
+public final class RequestBatcher {
+    public static final int MAX_DIM = 64;               // bigger systems go to the factorization cache
+    public static final int MAX_BATCH = 1024;
+
+    private static final class Pending {
+        final double[] augmented;
+        final int dim;
+        final CompletableFuture<Solution> result = new CompletableFuture<>();
+
+        Pending(double[] augmented, int dim) {
+            this.augmented = augmented;
+            this.dim = dim;
+        }
+    }
+
+    private final LinkedBlockingQueue<Pending> queue = new LinkedBlockingQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();     // taken from queue, not answered yet
+    private final ForkJoinPool pool;
+    private final ServerStats stats;
+    private final Thread thread;
+
+    public RequestBatcher(ForkJoinPool pool, ServerStats stats) {
+        this.pool = pool;
+        this.stats = stats;
+        this.thread = new Thread(this::run, "gauss-batcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    // Queue augmented [A|b] (dim x dim+1, row-major) and wait for its solution
+    public Solution solve(double[] augmented, int dim) {
+        Pending p = new Pending(augmented, dim);
+        queue.add(p);
+        return p.result.join();
+    }
+
+    // Systems waiting or being solved
+    public int depth() {
+        return queue.size() + inFlight.get();
+    }
+
+    private void run() {
+        List<Pending> batch = new ArrayList<>();
+        while (true) {
+            try {
+                batch.add(queue.take());
+            } catch (InterruptedException ex) {
+                return;
+            }
+            queue.drainTo(batch, MAX_BATCH - 1);
+            inFlight.set(batch.size());
+
+            try {
+                Map<Integer, List<Pending>> byDim = new HashMap<>();
+                for (Pending p : batch)
+                    byDim.computeIfAbsent(p.dim, d -> new ArrayList<>()).add(p);
+                for (List<Pending> group : byDim.values())
+                    solveGroup(group);
+                stats.batches.increment();
+                stats.batchedSystems.add(batch.size());
+            } catch (Throwable ex) {                    // no waiting handler is left behind
+                for (Pending p : batch)
+                    p.result.completeExceptionally(ex);
+            }
+            batch.clear();
+            inFlight.set(0);
+        }
+    }
+
+    private void solveGroup(List<Pending> group) {
+        int dim = group.get(0).dim, count = group.size(), size = dim * (dim + 1);
+        try {
+            double[] systems = new double[size * count];
+            for (int s = 0; s < count; s++)
+                System.arraycopy(group.get(s).augmented, 0, systems, s * size, size);
+            double[] x = new double[dim * count];
+            Solution.Status[] status = new Solution.Status[count];
+            BatchSolver.solve(systems, dim, count, x, status, pool);
+
+            for (int s = 0; s < count; s++) {
+                boolean unique = status[s] == Solution.Status.UNIQUE;
+                double[] xs = unique ? Arrays.copyOfRange(x, s * dim, (s + 1) * dim) : null;
+                group.get(s).result.complete(new Solution(xs, unique ? dim : -1, status[s]));   // -1: rank is not counted by BatchSolver
+            }
+        } catch (Throwable ex) {                        // also OutOfMemoryError: the thread must outlive it
+            for (Pending p : group)
+                p.result.completeExceptionally(ex);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package gauss;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// === Counters of the solve server, shown by GET /stats ===
+// Updated without locks from the handler threads; the text is built on request.
+public final class ServerStats {
+    private final long started = System.nanoTime();
+    final LongAdder requests = new LongAdder();
+    final LongAdder solved = new LongAdder();           // answered with a solution or status
+    final LongAdder rejected = new LongAdder();         // bad input: malformed, too big (400, 413)
+    final LongAdder failed = new LongAdder();           // solver failures (500)
+    final LongAdder batches = new LongAdder();
+    final LongAdder batchedSystems = new LongAdder();
+    final LongAdder cacheHits = new LongAdder();
+    final LongAdder cacheMisses = new LongAdder();
+    final LongAdder solveNanos = new LongAdder();       // time from request parsed to result
+
+    private long lastNanos = started, lastSolved;       // for the rate since previous /stats
+
+    // 'key=value' lines; queue depth and cache size are read from their owners
+    synchronized String format(int queueDepth, int cacheEntries, long cacheElements) {
+        long now = System.nanoTime();
+        long total = solved.sum();
+        double uptime = (now - started) / 1e9;
+        double interval = (now - lastNanos) / 1e9;
+        double recent = interval > 0 ? (total - lastSolved) / interval : 0;
+        lastNanos = now;
+        lastSolved = total;
+
+        long hits = cacheHits.sum(), misses = cacheMisses.sum();
+        long batchCount = batches.sum(), inBatches = batchedSystems.sum();
+        StringBuilder out = new StringBuilder();
+        line(out, "uptime.seconds", String.format("%.1f", uptime));
+        line(out, "requests", requests.sum());
+        line(out, "solved", total);
+        line(out, "rejected", rejected.sum());
+        line(out, "failed", failed.sum());
+        line(out, "throughput.total", String.format("%.1f", uptime > 0 ? total / uptime : 0));
+        line(out, "throughput.recent", String.format("%.1f", recent));
+        line(out, "latency.mean.ms", String.format("%.3f", total > 0 ? solveNanos.sum() / 1e6 / total : 0));
+        line(out, "queue.depth", queueDepth);
+        line(out, "batches", batchCount);
+        line(out, "batch.mean.size", String.format("%.2f", batchCount > 0 ? (double) inBatches / batchCount : 0));
+        line(out, "cache.hits", hits);
+        line(out, "cache.misses", misses);
+        line(out, "cache.hit.rate", String.format("%.3f", hits + misses > 0 ? (double) hits / (hits + misses) : 0));
+        line(out, "cache.entries", cacheEntries);
+        line(out, "cache.elements", cacheElements);
+        return out.toString();
+    }
+
+    private static void line(StringBuilder out, String key, Object value) {
+        out.append(key).append('=').append(value).append('\n');
+    }
+}
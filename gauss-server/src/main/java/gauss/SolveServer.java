@@ -0,0 +1,217 @@
+package gauss;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+
+// === Headless local solve server ===
+//   POST /solve  body: augmented [A|b] as text (the format of the window's coefs files) or as
+//                binary matrix file (.gmat); answer: status line, then x1..xn one per line
+//   GET  /stats  counters: throughput, queue depth, batches, cache hit rate (ServerStats)
+// Small systems are coalesced by RequestBatcher unless their matrix is repeated, bigger ones
+// and repeated small ones are solved by LU kept in the FactorizationCache. Requests are
+// handled on virtual threads when the JVM has them (Java 21+), else on a fixed pool of
+// platform threads. Bad input is answered 400 (counted as rejected), a failed solve 500
+// (counted as failed).
+public final class SolveServer {
+    public static final int DEFAULT_PORT = 8765;
+    public static final int DEFAULT_MAX_DIM = 4096;     // 128 MB matrix
+    public static final int PLATFORM_HANDLERS = 256;    // handler threads without virtual threads
+    public static final int MAX_BODY = 1 << 30;
+
+    // Parsed augmented system
+    private static final class Request {
+        final double[] augmented;
+        final int dim;
+
+        Request(double[] augmented, int dim) {
+            this.augmented = augmented;
+            this.dim = dim;
+        }
+    }
+
+    private final HttpServer http;
+    private final ExecutorService handlers;
+    private final boolean virtual;                      // handlers run on virtual threads
+    private final ServerStats stats = new ServerStats();
+    private final RequestBatcher batcher;
+    private final FactorizationCache cache;
+    private final int maxDim;
+
+    public SolveServer(int port, int maxDim, ForkJoinPool pool, long cacheElements) throws IOException {
+        this.maxDim = maxDim;
+        batcher = new RequestBatcher(pool, stats);
+        cache = new FactorizationCache(cacheElements, pool, stats);
+        ExecutorService virtualThreads = virtualThreadExecutor();
+        virtual = virtualThreads != null;
+        handlers = virtual ? virtualThreads : Executors.newFixedThreadPool(PLATFORM_HANDLERS, r -> {
+            Thread thread = new Thread(r, "gauss-handler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        http.setExecutor(handlers);
+        http.createContext("/solve", this::handleSolve);
+        http.createContext("/stats", this::handleStats);
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxDim = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MAX_DIM;
+        SolveServer server = new SolveServer(port, maxDim, ForkJoinPool.commonPool(), FactorizationCache.DEFAULT_MAX_ELEMENTS);
+        Runtime.getRuntime().addShutdownHook(new Thread(server::stop));
+        SolverStats.register();
+        server.start();
+        InetSocketAddress address = server.getAddress();
+        System.out.println("Solve server on http://" + address.getHostString() + ":" + address.getPort() + "/solve"
+                + (server.isVirtual() ? " (virtual threads)" : " (platform threads)"));
+    }
+
+    // Virtual thread per request, looked up by reflection to run on Java 17; null if the JVM has none
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException ex) {
+            return null;
+        }
+    }
+
+    public void start() {
+        http.start();
+    }
+
+    public void stop() {
+        http.stop(0);
+        handlers.shutdown();
+    }
+
+    public InetSocketAddress getAddress() {
+        return http.getAddress();
+    }
+
+    public boolean isVirtual() {
+        return virtual;
+    }
+
+    private void handleSolve(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                reply(exchange, 405, "Use POST with augmented matrix [A|b]\n");
+                return;
+            }
+            stats.requests.increment();
+            Request request;
+            try {
+                byte[] body = readBody(exchange);
+                if (body == null) {
+                    stats.rejected.increment();
+                    reply(exchange, 413, "Body is bigger than " + MAX_BODY + " bytes\n");
+                    return;
+                }
+                request = parse(body);
+            } catch (IOException | RuntimeException ex) {   // RuntimeException: Content-Length, header values
+                stats.rejected.increment();
+                reply(exchange, 400, ex.getMessage() + "\n");
+                return;
+            }
+
+            long start = System.nanoTime();
+            Solution solution;
+            try {
+                solution = solve(request.augmented, request.dim);
+            } catch (RuntimeException ex) {
+                stats.failed.increment();
+                Throwable cause = ex instanceof CompletionException && ex.getCause() != null ? ex.getCause() : ex;
+                reply(exchange, 500, "Solve failed: " + cause + "\n");
+                return;
+            }
+            stats.solveNanos.add(System.nanoTime() - start);
+            stats.solved.increment();
+            reply(exchange, 200, format(solution));
+        }
+    }
+
+    // Augmented system of the body, the size is checked before anything is allocated for it
+    private Request parse(byte[] body) throws IOException {
+        if (BinaryMatrixFile.isMatrixData(body)) {
+            BinaryMatrixFile.Mapped m = BinaryMatrixFile.wrap(body, true);     // header is checked against the size
+            int dim = m.getRows();
+            checkShape(dim, m.getCols());
+            double[] augmented = new double[dim * (dim + 1)];
+            m.getData().get(augmented);
+            return new Request(augmented, dim);
+        }
+
+        int cols = TextMatrixReader.countColumns(body);
+        int dim = cols - 1;
+        checkShape(dim, cols);
+        if ((long) dim * cols > (body.length + 1) / 2)  // every number takes a digit and a delimiter
+            throw new IOException("Body of " + body.length + " bytes can't hold " + dim + "x" + cols + " matrix");
+        TextMatrixReader.Result coefs = TextMatrixReader.read(body, dim, cols);
+        if (coefs.getErrorCount() > 0)
+            throw new IOException(coefs.getErrors().get(0).toString());
+        if (coefs.getLines() < dim)
+            throw new IOException("Matrix has " + coefs.getLines() + " equations, the first line has " + cols + " coefs");
+        return new Request(coefs.getValues(), dim);
+    }
+
+    // Repeated matrices by the kept LU, other small ones in batches
+    private Solution solve(double[] augmented, int dim) {
+        if (dim > RequestBatcher.MAX_DIM)
+            return cache.solve(augmented, dim);
+        Solution solution = cache.solveIfRepeated(augmented, dim);
+        return solution != null ? solution : batcher.solve(augmented, dim);
+    }
+
+    private void handleStats(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            reply(exchange, 200, stats.format(batcher.depth(), cache.size(), cache.elements()));
+        }
+    }
+
+    private void checkShape(int rows, int cols) throws IOException {
+        if (rows <= 0 || cols != rows + 1)
+            throw new IOException("Matrix " + rows + "x" + cols + " is not an augmented square system");
+        if (rows > maxDim)
+            throw new IOException("Matrix " + rows + "x" + cols + " is bigger than the limit of " + maxDim + " equations");
+    }
+
+    // Whole body, null if it is too big
+    private static byte[] readBody(HttpExchange exchange) throws IOException {
+        String length = exchange.getRequestHeaders().getFirst("Content-Length");
+        if (length != null && Long.parseLong(length) > MAX_BODY)
+            return null;
+        try (InputStream in = exchange.getRequestBody()) {
+            byte[] body = in.readNBytes(MAX_BODY);
+            return in.read() < 0 ? body : null;
+        }
+    }
+
+    // Status name, then x values with full precision
+    static String format(Solution solution) {
+        StringBuilder out = new StringBuilder(solution.getStatus().name()).append('\n');
+        double[] x = solution.getX();
+        if (x != null)
+            for (double v : x)
+                out.append(v).append('\n');
+        return out.toString();
+    }
+
+    private static void reply(HttpExchange exchange, int code, String text) throws IOException {
+        byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(code, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
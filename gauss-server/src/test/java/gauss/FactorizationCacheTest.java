@@ -0,0 +1,92 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class FactorizationCacheTest {
+    private static final int N = 30;
+
+    // Augmented [A|b] rows, A diagonally dominant
+    private static double[] system(Random random) {
+        double[] ab = new double[N * (N + 1)];
+        for (int i = 0; i < ab.length; i++)
+            ab[i] = random.nextDouble() - 0.5;
+        for (int i = 0; i < N; i++)
+            ab[i * (N + 1) + i] += N;
+        return ab;
+    }
+
+    private static double[] lu(double[] ab) {
+        double[] a = new double[N * N];
+        double[] b = new double[N];
+        for (int i = 0; i < N; i++) {
+            System.arraycopy(ab, i * (N + 1), a, i * N, N);
+            b[i] = ab[i * (N + 1) + N];
+        }
+        return LUDecomposition.factor(a, N).solve(b).getX();
+    }
+
+    // The same A with other b
+    private static double[] withNewB(double[] ab, Random random) {
+        double[] next = ab.clone();
+        for (int i = 0; i < N; i++)
+            next[i * (N + 1) + N] = random.nextDouble();
+        return next;
+    }
+
+    @Test
+    void repeatedMatrixIsSolvedByKeptFactorization() {
+        Random random = new Random(81);
+        ServerStats stats = new ServerStats();
+        FactorizationCache cache = new FactorizationCache(FactorizationCache.DEFAULT_MAX_ELEMENTS, null, stats);
+        double[] ab = system(random);
+        assertArrayEquals(lu(ab), cache.solve(ab, N).getX(), 1e-12);
+        double[] next = withNewB(ab, random);
+        assertArrayEquals(lu(next), cache.solve(next, N).getX(), 1e-12);
+
+        assertEquals(1, stats.cacheMisses.sum());
+        assertEquals(1, stats.cacheHits.sum());
+        assertEquals(1, cache.size());
+        assertEquals((long) N * N, cache.elements());
+    }
+
+    @Test
+    void smallSystemIsKeptFromItsSecondSight() {
+        Random random = new Random(82);
+        ServerStats stats = new ServerStats();
+        FactorizationCache cache = new FactorizationCache(FactorizationCache.DEFAULT_MAX_ELEMENTS, null, stats);
+        double[] ab = system(random);
+        assertNull(cache.solveIfRepeated(ab, N));
+        assertEquals(0, cache.size());
+
+        double[] next = withNewB(ab, random);
+        Solution s = cache.solveIfRepeated(next, N);
+        assertNotNull(s);
+        assertArrayEquals(lu(next), s.getX(), 1e-12);
+        assertEquals(1, cache.size());
+        assertNotNull(cache.solveIfRepeated(ab, N));
+        assertEquals(1, stats.cacheHits.sum());
+    }
+
+    @Test
+    void leastRecentlyUsedFactorizationsAreDropped() {
+        Random random = new Random(83);
+        FactorizationCache cache = new FactorizationCache(2L * N * N, null, new ServerStats());
+        double[] first = system(random), second = system(random), third = system(random);
+        cache.solve(first, N);
+        cache.solve(second, N);
+        cache.solve(first, N);                          // second is the eldest now
+        cache.solve(third, N);
+        assertEquals(2, cache.size());
+        assertEquals(2L * N * N, cache.elements());
+
+        FactorizationCache single = new FactorizationCache(N, null, new ServerStats());    // less than one matrix
+        single.solve(first, N);
+        assertEquals(1, single.size());                 // the newest one is always kept
+    }
+}
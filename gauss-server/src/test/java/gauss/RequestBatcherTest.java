@@ -0,0 +1,75 @@
+package gauss;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.Test;
+
+class RequestBatcherTest {
+
+    // Augmented [A|b] rows of random dim x dim system
+    private static double[] system(Random random, int dim) {
+        double[] ab = new double[dim * (dim + 1)];
+        for (int i = 0; i < ab.length; i++)
+            ab[i] = random.nextDouble() - 0.5;
+        return ab;
+    }
+
+    private static Solution lu(double[] ab, int dim) {
+        double[] a = new double[dim * dim];
+        double[] b = new double[dim];
+        for (int i = 0; i < dim; i++) {
+            System.arraycopy(ab, i * (dim + 1), a, i * dim, dim);
+            b[i] = ab[i * (dim + 1) + dim];
+        }
+        return LUDecomposition.factor(a, dim).solve(b);
+    }
+
+    @Test
+    void concurrentSystemsOfMixedSizesMatchLU() throws Exception {
+        Random random = new Random(91);
+        RequestBatcher batcher = new RequestBatcher(null, new ServerStats());
+        int count = 200;
+        double[][] systems = new double[count][];
+        int[] dims = new int[count];
+        for (int s = 0; s < count; s++) {
+            dims[s] = 1 + s % 12;
+            systems[s] = system(random, dims[s]);
+        }
+
+        ExecutorService handlers = Executors.newFixedThreadPool(16);
+        try {
+            List<Future<Solution>> results = new ArrayList<>();
+            for (int s = 0; s < count; s++) {
+                int k = s;
+                results.add(handlers.submit(() -> batcher.solve(systems[k], dims[k])));
+            }
+            for (int s = 0; s < count; s++) {
+                Solution expected = lu(systems[s], dims[s]);
+                Solution batched = results.get(s).get();
+                assertEquals(expected.getStatus(), batched.getStatus());
+                if (expected.isUnique())
+                    assertArrayEquals(expected.getX(), batched.getX(), 1e-10);
+            }
+        } finally {
+            handlers.shutdown();
+        }
+    }
+
+    @Test
+    void failedBatchCompletesExceptionallyAndBatcherGoesOn() {
+        RequestBatcher batcher = new RequestBatcher(null, new ServerStats());
+        assertThrows(CompletionException.class, () -> batcher.solve(new double[5], 4));     // array too short
+
+        double[] ab = system(new Random(92), 4);
+        assertArrayEquals(lu(ab, 4).getX(), batcher.solve(ab, 4).getX(), 1e-10);
+    }
+}
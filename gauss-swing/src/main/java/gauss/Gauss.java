@@ -41,6 +41,7 @@ public class Gauss {
                 new Okno().setVisible(true);
             }
         });
+        SolverStats.register();                         // JMX statistics, while the window is built
     }
     
 }
@@ -0,0 +1,74 @@
+package gauss;
+
+import javax.swing.table.AbstractTableModel;
+
+// === Table model right on the coefficients: rows x cols doubles in one row-major array ===
+// No boxed Double per cell: a value is boxed only when JTable renders or edits the cell,
+// and only visible cells are rendered. The array is handed to the solver as it is.
+public class MatrixTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    private final int rows, cols;
+    private final double[] data;
+    private boolean editable = true;
+
+    // Zero matrix
+    public MatrixTableModel(int rows, int cols) {
+        this(new double[Math.multiplyExact(rows, cols)], rows, cols);
+    }
+
+    // Model on given array (not copied)
+    public MatrixTableModel(double[] data, int rows, int cols) {
+        if (data.length < (long) rows * cols)
+            throw new IllegalArgumentException("Array of " + data.length + " elements can't hold " + rows + "x" + cols + " matrix");
+        this.rows = rows;
+        this.cols = cols;
+        this.data = data;
+    }
+
+    // Storage of the model; after changing it call fireTableDataChanged()
+    public double[] getData() {
+        return data;
+    }
+
+    // Off while a solver reads the array in background
+    public void setEditable(boolean editable) {
+        this.editable = editable;
+    }
+
+    @Override
+    public int getRowCount() {
+        return rows;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return cols;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return "";
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return Double.class;
+    }
+
+    @Override
+    public boolean isCellEditable(int rowIndex, int columnIndex) {
+        return editable;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        return data[rowIndex * cols + columnIndex];
+    }
+
+    @Override
+    public void setValueAt(Object value, int rowIndex, int columnIndex) {
+        data[rowIndex * cols + columnIndex] = value == null ? 0 : ((Number) value).doubleValue();
+        fireTableCellUpdated(rowIndex, columnIndex);
+    }
+}
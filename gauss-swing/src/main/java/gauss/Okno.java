@@ -1,207 +1,47 @@
 package gauss;
 
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.nio.DoubleBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import javax.swing.JFileChooser;
 import javax.swing.JOptionPane;
+import javax.swing.JTable;
+import javax.swing.SwingWorker;
 import static javax.swing.JOptionPane.ERROR_MESSAGE;
-import javax.swing.table.DefaultTableModel;
 
 class MyCustomFilter extends javax.swing.filechooser.FileFilter {
     @Override
     public boolean accept(File file) {
-        // Allow only directories, or files with ".txt" extension
-        return file.isDirectory() || file.getAbsolutePath().endsWith(".txt");
+        // Allow only directories, or files with ".txt" and ".gmat" extension
+        return file.isDirectory() || file.getAbsolutePath().endsWith(".txt")
+                || file.getAbsolutePath().endsWith(BinaryMatrixFile.EXTENSION);
     }
     @Override
     public String getDescription() {
         // This description will be displayed in the dialog,
-        return "Text documents (*.txt)";
+        return "Text documents (*.txt), binary matrices (*" + BinaryMatrixFile.EXTENSION + ")";
     }
 }
 
 // === Window class ===
 public class Okno extends javax.swing.JFrame {
     
-    // === Common method class (nested in class 'Okno') ===
-    class SolveMethod {
-        final double EPS = 0.001;                 
-        
-        protected boolean[] okLines;                        // for matrix degeneracy checking
-        protected int dim;                                  // 'protected' - visible to the derived classes
-        protected double[][] a;
-        
-        private String methodName;
-        
-        // Common part for derived classes constructors
-        private void initMethod(String name) {              // 'private' - because it's used in the child' constructor (is NOT visible directly)
-            dim = (int) spinDimention.getValue();           // ...in child class call it by 'super.initMethod'
-            okLines = new boolean[dim];                     // autoinit with false
-            methodName = name;
-            
-            a = new double[dim][dim+1];
-            for (int i = 0; i < dim; i++)
-                for (int j = 0; j < dim+1; j++) 
-                    a[i][j] = (double) table.getValueAt(i,j);
-        }
-        
-        protected void print(String s) {                    
-            //System.out.print(s);                          
-            textResult.append(s);                           
-        }
-    
-        // fix -0.000
-        protected String str(double x) {
-            if (Math.abs(x) < EPS) 
-                x = Math.abs(x);
-            return String.format("%8.4f ", x);
-        }
-    
-        protected void printMatrix(String title) {
-            print(title + ":\n");
-            for (int row = 0; row < dim; row++) {
-                for (int col = 0; col < dim+1; col++)
-                    print( str(a[row][col]) );
-                print("\n");
-            }
-            print("\n");
-        }
-    
-        // Partial pivoting realization
-        protected boolean pivoting(int rowCur) {
-            int colCur = rowCur;
-            
-            int rowPivot = rowCur;                          // find max element in column 
-            for (int row = rowCur + 1; row < dim; row++)    // down from current
-                if (Math.abs( a[row][colCur]) > Math.abs(a[rowPivot][colCur]) ) rowPivot = row;
-
-            if (Math.abs ( a[rowPivot][colCur]) < EPS )      // if only zeros in column below (a[rowPivot][colCur] = 0)
-                return false;     
-
-            okLines[rowCur] = true;
-
-            for (int col = 0; col < dim + 1; col++) {       // transpose rows a[rowCur] and a[rowPivot]
-                double buf = a[rowCur][col];
-                a[rowCur][col] = a[rowPivot][col];
-                a[rowPivot][col] = buf;
-            }
-
-            return true;
-        }
-        
-        // Check matrix for degeneracy
-        protected boolean checkResults() {
-            String notOneSolutionInfo = "";
-
-            for (int row = 0; row < dim; row++) {
-                if ( !okLines[row] ) {
-                    if (Math.abs( a[row][dim]) > EPS ) {      // a[row][dim] !=0
-                        notOneSolutionInfo = "The system is inconsistent";
-                        break;
-                    } else 
-                        notOneSolutionInfo = "The system has a general solution";
-                }
-            }
-            if (notOneSolutionInfo.length() == 0) return true;
-                
-            print(notOneSolutionInfo);
-            return false;
-        }
-        
-        void doMethod() {
-            textResult.setText("");
-            print("Solve the system of linear equations\n");
-            print("by " + methodName + "\n\n");
-            printMatrix("Source matrix");
-        }
-    }
-    // === End of common method class ===
-
-    // === Gauss method class ===
-    class GaussMethod extends SolveMethod {
-        GaussMethod() {
-            super.initMethod("Gauss method");
-        }
-        
-        @Override
-        void doMethod() {
-            super.doMethod();
-            
-            // Matrix transformation
-            for (int i = 0; i < dim; i++) {
-                if ( !pivoting(i) ) continue;
-
-                double c = a[i][i];
-
-                // Handle every row below row #i
-                for (int row = i + 1; row < dim; row++) {
-                    double d = a[row][i];
-                    for (int col = 0; col < dim+1; col++) 
-                        a[row][col] -= a[i][col] / c * d;
-                }
-
-                printMatrix( "Iteration #" + (i+1) );
-            }
-            // End of matrix transformation
-            
-            if ( !checkResults() ) return;
-            
-            // Calculate results
-            double[] x = new double[dim+1];
-            
-            for(int i=dim-1; i>=0; i--){
-                double s = 0;
-                for(int j = i; j<dim; j++)
-                    s += a[i][j] * x[j];
-                x[i] = (a[i][dim] - s) / a[i][i];
-            }
-            
-            for (int i = 0; i < dim; i++) 
-                print( String.format("x%d = %s\n", i+1, str(x[i]) ) );
-        }
-    }
-    // === End of Gauss method class ===
-
-    // === Gauss-Jordan method class ===
-    class JordanMethod extends SolveMethod {
-        JordanMethod() {
-            super.initMethod("Gauss-Jordan method");
-        }
-        
-        @Override
-        void doMethod() {
-            super.doMethod();
-            
-            // Matrix transformation
-            for (int i = 0; i < dim; i++) {
-                if ( !pivoting(i) ) continue;
-
-                // Divide elements of row a[rowCur] to diagonal element from this row
-                double c = a[i][i];
-                for (int col = 0; col < dim + 1; col++) 
-                    a[i][col] = a[i][col] / c;
-
-                // Handle every row exept row #i
-                for (int row = 0; row < dim; row++)
-                    if (row != i) {
-                        c = a[row][i];
-                        for (int col = i; col < dim+1; col++) 
-                            a[row][col] -= a[i][col] * c;
-                    }
-
-                printMatrix( "Iteration #" + (i+1) );
-            }
-            // End of matrix transformation
-        
-            if ( checkResults() )
-                for (int i = 0; i < dim; i++) 
-                    print( String.format("x%d = %s\n", i+1, str(a[i][dim]) ) );
-        }
-    }    
-    // === End of Gauss-Jordan method class ===
-    
     // === Window class realization  ===
+    private static final ExecutorService solveExecutor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "gauss-solver");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private SwingWorker<Solution, Void> worker;         // running solve, null - none
+    private static final int FIT_COLUMNS = 10;          // more columns - horizontal scrolling
+    private double[] factoredSource;                    // last solved big table (more than FIT_COLUMNS equations), null - none
+    private LinearSolver.Method factoredMethod;         // method it was solved by
+    private UpdatableLU factored;                       // its LU, factored on the first what-if edit, null - not yet
+
     Okno() {
         initComponents();
     }
@@ -226,6 +66,8 @@ public class Okno extends javax.swing.JFrame {
         btnTableFromFile = new javax.swing.JButton();
         btnTableClear = new javax.swing.JButton();
         btnSolveJordan = new javax.swing.JButton();
+        progressSolve = new javax.swing.JProgressBar();
+        btnCancel = new javax.swing.JButton();
         panelResult = new javax.swing.JPanel();
         scrollResult1 = new javax.swing.JScrollPane();
         textResult = new javax.swing.JTextArea();
@@ -263,7 +105,7 @@ public class Okno extends javax.swing.JFrame {
         labelNumber.setFont(new java.awt.Font("Tahoma", 0, 12)); // NOI18N
         labelNumber.setText("Number of equations:");
 
-        spinDimention.setModel(new javax.swing.SpinnerNumberModel(3, 2, 9, 1));
+        spinDimention.setModel(new javax.swing.SpinnerNumberModel(3, 2, 5000, 1));
         spinDimention.addChangeListener(new javax.swing.event.ChangeListener() {
             public void stateChanged(javax.swing.event.ChangeEvent evt) {
                 spinDimentionStateChanged(evt);
@@ -342,6 +184,16 @@ public class Okno extends javax.swing.JFrame {
             }
         });
 
+        progressSolve.setStringPainted(true);
+
+        btnCancel.setText("Cancel");
+        btnCancel.setEnabled(false);
+        btnCancel.addActionListener(new java.awt.event.ActionListener() {
+            public void actionPerformed(java.awt.event.ActionEvent evt) {
+                btnCancelActionPerformed(evt);
+            }
+        });
+
         javax.swing.GroupLayout panelInputLayout = new javax.swing.GroupLayout(panelInput);
         panelInput.setLayout(panelInputLayout);
         panelInputLayout.setHorizontalGroup(
@@ -357,7 +209,11 @@ public class Okno extends javax.swing.JFrame {
                 .addGap(0, 0, Short.MAX_VALUE)
                 .addGroup(panelInputLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.TRAILING, false)
                     .addComponent(btnSolveGauss, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
-                    .addComponent(btnSolveJordan, javax.swing.GroupLayout.DEFAULT_SIZE, 267, Short.MAX_VALUE))
+                    .addComponent(btnSolveJordan, javax.swing.GroupLayout.DEFAULT_SIZE, 267, Short.MAX_VALUE)
+                    .addGroup(javax.swing.GroupLayout.Alignment.LEADING, panelInputLayout.createSequentialGroup()
+                        .addComponent(progressSolve, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, Short.MAX_VALUE)
+                        .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.RELATED)
+                        .addComponent(btnCancel)))
                 .addGap(24, 24, 24))
         );
         panelInputLayout.setVerticalGroup(
@@ -373,7 +229,11 @@ public class Okno extends javax.swing.JFrame {
                 .addComponent(btnSolveGauss, javax.swing.GroupLayout.PREFERRED_SIZE, 38, javax.swing.GroupLayout.PREFERRED_SIZE)
                 .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
                 .addComponent(btnSolveJordan, javax.swing.GroupLayout.PREFERRED_SIZE, 37, javax.swing.GroupLayout.PREFERRED_SIZE)
-                .addContainerGap(49, Short.MAX_VALUE))
+                .addPreferredGap(javax.swing.LayoutStyle.ComponentPlacement.UNRELATED)
+                .addGroup(panelInputLayout.createParallelGroup(javax.swing.GroupLayout.Alignment.CENTER)
+                    .addComponent(progressSolve, javax.swing.GroupLayout.PREFERRED_SIZE, javax.swing.GroupLayout.DEFAULT_SIZE, javax.swing.GroupLayout.PREFERRED_SIZE)
+                    .addComponent(btnCancel))
+                .addContainerGap(16, Short.MAX_VALUE))
         );
 
         panelResult.setBorder(javax.swing.BorderFactory.createTitledBorder(null, " Information & results: ", javax.swing.border.TitledBorder.DEFAULT_JUSTIFICATION, javax.swing.border.TitledBorder.DEFAULT_POSITION, new java.awt.Font("Tahoma", 0, 11), new java.awt.Color(0, 51, 51))); // NOI18N
@@ -503,60 +363,218 @@ public class Okno extends javax.swing.JFrame {
         File file = fileLoad.getSelectedFile();
         
         try {
-            redefineTable();
+            if (file.getName().endsWith(BinaryMatrixFile.EXTENSION)) {
+                loadBinaryCoefs(file, dim);
+                return;
+            }
             
-            FileReader fileReader = new FileReader( file.getAbsolutePath() );
-            textResult.read( fileReader, null );
+            TextMatrixReader.Result coefs = TextMatrixReader.read(file.toPath(), dim, dim+1);
+            setTableModel(new MatrixTableModel(coefs.getValues(), dim, dim+1));     // no copy
             
-            String[] textLines = textResult.getText().split("\n");
-            int rows = Math.min(dim,textLines.length);
-
-            for (int i=0; i<rows; i++) {
-                String textLine = textLines[i].trim().replaceAll("( |\t|;)+", " ");
-                String[] coefs  = textLine.split(" ");
-                int cols = Math.min(dim+1,coefs.length);
-                for (int j=0; j<cols; j++) {
-                    try {
-                        double x = Double.parseDouble(coefs[j].trim());
-                        table.setValueAt(x,i,j);
-                    } catch (Exception ex){}
-                }
-            }
+            StringBuilder info = new StringBuilder("Coefs loaded from file:\n" + file.getAbsolutePath() + "\n");
+            for (TextMatrixReader.ParseError error : coefs.getErrors())
+                info.append(error).append('\n');
+            if (coefs.getErrorCount() > coefs.getErrors().size())
+                info.append("... ").append(coefs.getErrorCount()).append(" malformed coefs in total\n");
+            textResult.setText(info.toString());
         } catch (IOException ex) {
             JOptionPane.showMessageDialog(this, "Problem accessing file:\n" + file.getAbsolutePath(), "Error opening file!", ERROR_MESSAGE);
         }
     }
     
+    // Load matrix coefficients from binary file, the table keeps its dimention
+    private void loadBinaryCoefs(File file, int dim) throws IOException {
+        BinaryMatrixFile.Mapped coefs = BinaryMatrixFile.map(file.toPath(), true);
+        redefineTable();
+        int rows = Math.min(dim, coefs.getRows());
+        int cols = Math.min(dim+1, coefs.getCols());
+        double[] data = tableModel().getData();
+        DoubleBuffer source = coefs.getData();
+        for (int i=0; i<rows; i++) {                    // bulk copy of row prefixes
+            source.position(i * coefs.getCols());
+            source.get(data, i * (dim+1), cols);
+        }
+        tableModel().fireTableDataChanged();
+        textResult.setText("Coefs loaded from file:\n" + file.getAbsolutePath() + "\n"
+                + "Matrix " + coefs.getRows() + "x" + coefs.getCols() + "\n");
+    }
+    
     // Set new dimention to table & fill table by zeros
     private void redefineTable() {
         int dim = (int) spinDimention.getValue();
-        
-        Object[][] data = new Double[dim][dim+1];
-        Object[] headers = new String [dim+1];
-        Class[] typesDouble = new Class [dim+1];
-        
-        for (int j = 0; j < dim+1; j++) {
-            headers[j] = "";
-            typesDouble[j] = java.lang.Double.class;
+        setTableModel(new MatrixTableModel(dim, dim+1));
+        textResult.setText("");
+    }
+
+    // Small tables are fitted into the window, big ones are scrolled
+    private void setTableModel(MatrixTableModel model) {
+        table.setAutoResizeMode(model.getColumnCount() > FIT_COLUMNS ? JTable.AUTO_RESIZE_OFF : JTable.AUTO_RESIZE_SUBSEQUENT_COLUMNS);
+        table.setModel(model);
+    }
+
+    private MatrixTableModel tableModel() {
+        return (MatrixTableModel) table.getModel();
+    }
+
+    // Solve the system from table in background, the steps are shown in result area when it's done.
+    // Progress goes through SwingWorker, which merges frequent updates into one repaint.
+    private void solve(LinearSolver.Method method) {
+        if (worker != null) return;                     // one solve at a time
+
+        if (table.isEditing())
+            table.getCellEditor().stopCellEditing();
+        int dim = (int) spinDimention.getValue();
+        double[] data = tableModel().getData();
+        if (factoredSource != null && factoredSource.length == data.length && factoredMethod == method) {
+            int[] rows = changedRows(data, dim);
+            if (rows.length <= UpdatableLU.DEFAULT_MAX_UPDATES && (factored != null || rows.length > 0)) {
+                solveByUpdates(dim, data, rows, method);    // O(n^2) per changed row instead of O(n^3)
+                return;
+            }
         }
-        
+
+        SolveMethod solver = LinearSolver.create(data, dim, method);  // copied into working matrix
+        SolveTrace trace = new SolveTrace(SolveTrace.Level.FULL);
+        solver.setTrace(trace);
+        double[] source = dim > FIT_COLUMNS ? data.clone() : null;   // small systems always get step-by-step trace
+
+        worker = new SwingWorker<Solution, Void>() {
+            @Override
+            protected Solution doInBackground() {
+                solver.setMonitor((done, total) -> {
+                    setProgress(total > 0 ? (int) (100L * done / total) : 0);
+                    return !isCancelled();
+                });
+                return solver.doMethod();
+            }
+
+            @Override
+            protected void done() {
+                worker = null;
+                setSolving(false);
+                if (isCancelled()) {
+                    textResult.setText(solver.getMethodName() + " was cancelled\n");
+                    return;
+                }
+                try {
+                    get();
+                    factoredSource = source;            // kept for what-if edits of the table
+                    factoredMethod = method;
+                    factored = null;
+                    progressSolve.setValue(100);
+                    textResult.setText(trace.toString());
+                } catch (InterruptedException | ExecutionException ex) {
+                    textResult.setText("Solve failed: " + ex.getCause() + "\n");
+                }
+            }
+        };
+        worker.addPropertyChangeListener(evt -> {
+            if ("progress".equals(evt.getPropertyName()))
+                progressSolve.setValue((Integer) evt.getNewValue());
+        });
+        setSolving(true);
+        solveExecutor.execute(worker);
+    }
+
+    // Re-solve edited table by low-rank updates of the kept factorization: a row with one
+    // changed coefficient is a rank-1 update of the coefficient, a row with more - of the row.
+    // The first edit after a full solve factors the solved table; no step-by-step trace of the method.
+    private void solveByUpdates(int dim, double[] data, int[] rows, LinearSolver.Method method) {
+        double[] source = data.clone();
+        double[] solved = factoredSource;
+        double[] b = new double[dim];
         for (int i = 0; i < dim; i++)
-            for (int j = 0; j < dim+1; j++)
-                data[i][j] = 0.0;
-        
-        DefaultTableModel newModel = new DefaultTableModel(data, headers) {
-            Class[] types = typesDouble;
+            b[i] = source[i * (dim+1) + dim];
+        UpdatableLU kept = factored;
+        factored = null;                                // until the update is done
+
+        worker = new SwingWorker<Solution, Void>() {
+            private UpdatableLU lu;
 
             @Override
-            public Class getColumnClass(int columnIndex) {
-                return types [columnIndex];
+            protected Solution doInBackground() {
+                lu = kept != null ? kept : new UpdatableLU(coefficients(solved, dim), dim, null);
+                for (int row : rows) {
+                    if (isCancelled())
+                        return null;
+                    int r = row * (dim+1), changed = 0, col = 0;
+                    for (int j = 0; j < dim; j++)
+                        if (source[r + j] != lu.get(row, j)) {
+                            changed++;
+                            col = j;
+                        }
+                    if (changed == 1)
+                        lu.set(row, col, source[r + col]);
+                    else
+                        lu.setRow(row, Arrays.copyOfRange(source, r, r + dim));
+                }
+                return lu.solve(b);
+            }
+
+            @Override
+            protected void done() {
+                worker = null;
+                setSolving(false);
+                if (isCancelled()) {
+                    textResult.setText("Update was cancelled\n");
+                    return;
+                }
+                try {
+                    Solution solution = get();
+                    factored = lu;
+                    factoredSource = source;
+                    SolveTrace trace = new SolveTrace(SolveTrace.Level.SUMMARY);
+                    trace.text(method + " steps are skipped: solved by LU update of the last solved table, "
+                            + rows.length + " changed rows, " + lu.getUpdateCount() + " updates since full factorization\n\n");
+                    if (solution.isUnique())
+                        trace.results(solution.getX());
+                    else
+                        trace.text(solution.getStatus().getInfo() + "\n");
+                    progressSolve.setValue(100);
+                    textResult.setText(trace.toString());
+                } catch (InterruptedException | ExecutionException ex) {
+                    textResult.setText("Solve failed: " + ex.getCause() + "\n");
+                }
             }
         };
-        
-        table.setModel(newModel);
-        textResult.setText("");
+        setSolving(true);
+        solveExecutor.execute(worker);
     }
-    
+
+    // Rows whose coefficients of A differ from the factored table (changes of b need no update)
+    private int[] changedRows(double[] data, int dim) {
+        int[] rows = new int[dim];
+        int count = 0;
+        for (int i = 0; i < dim; i++) {
+            int r = i * (dim+1);
+            if (!Arrays.equals(data, r, r + dim, factoredSource, r, r + dim))
+                rows[count++] = i;
+        }
+        return Arrays.copyOf(rows, count);
+    }
+
+    // A of augmented [A|b], row-major dim x dim
+    private static double[] coefficients(double[] augmented, int dim) {
+        double[] a = new double[dim * dim];
+        for (int i = 0; i < dim; i++)
+            System.arraycopy(augmented, i * (dim+1), a, i * dim, dim);
+        return a;
+    }
+
+    // Solve buttons are disabled, the table is read-only (solvers read its array) and Cancel is enabled while solving
+    private void setSolving(boolean solving) {
+        tableModel().setEditable(!solving);
+        btnSolveGauss.setEnabled(!solving);
+        btnSolveJordan.setEnabled(!solving);
+        menuSolveGauss.setEnabled(!solving);
+        menuSolveJordan.setEnabled(!solving);
+        btnCancel.setEnabled(solving);
+        if (solving) {
+            progressSolve.setValue(0);
+            textResult.setText("");
+        }
+    }
+
     // Exit from program
     private void closeProgram(java.awt.AWTEvent evt) {
         String message = "Are you really want to exit?";
@@ -568,7 +586,7 @@ public class Okno extends javax.swing.JFrame {
     }
     
     private void btnSolveGaussActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnSolveGaussActionPerformed
-        new GaussMethod().doMethod();
+        this.solve(LinearSolver.Method.GAUSS);
     }//GEN-LAST:event_btnSolveGaussActionPerformed
     
     private void btnTableFromFileActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnTableFromFileActionPerformed
@@ -580,7 +598,7 @@ public class Okno extends javax.swing.JFrame {
     }//GEN-LAST:event_menuLoadCoefsActionPerformed
 
     private void menuSolveGaussActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_menuSolveGaussActionPerformed
-        new GaussMethod().doMethod();
+        this.solve(LinearSolver.Method.GAUSS);
     }//GEN-LAST:event_menuSolveGaussActionPerformed
 
     private void menuExitActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_menuExitActionPerformed
@@ -604,19 +622,25 @@ public class Okno extends javax.swing.JFrame {
     }//GEN-LAST:event_btnTableClearActionPerformed
 
     private void btnSolveJordanActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnSolveJordanActionPerformed
-        new JordanMethod().doMethod();
+        this.solve(LinearSolver.Method.JORDAN);
     }//GEN-LAST:event_btnSolveJordanActionPerformed
 
     private void menuSolveJordanActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_menuSolveJordanActionPerformed
-        new JordanMethod().doMethod();
+        this.solve(LinearSolver.Method.JORDAN);
     }//GEN-LAST:event_menuSolveJordanActionPerformed
 
+    private void btnCancelActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_btnCancelActionPerformed
+        if (worker != null)
+            worker.cancel(false);                       // the solve stops at the next pivot column
+    }//GEN-LAST:event_btnCancelActionPerformed
+
     private void menuTableClearActionPerformed(java.awt.event.ActionEvent evt) {//GEN-FIRST:event_menuTableClearActionPerformed
         this.redefineTable();
     }//GEN-LAST:event_menuTableClearActionPerformed
     
     // <editor-fold defaultstate="collapsed" desc="Variables declaration">
     // Variables declaration - do not modify//GEN-BEGIN:variables
+    private javax.swing.JButton btnCancel;
     private javax.swing.JButton btnSolveGauss;
     private javax.swing.JButton btnSolveJordan;
     private javax.swing.JButton btnTableClear;
@@ -637,6 +661,7 @@ public class Okno extends javax.swing.JFrame {
     private javax.swing.JPanel panelResult;
     private javax.swing.JPanel panelTable;
     private javax.swing.JPanel panelTitle;
+    private javax.swing.JProgressBar progressSolve;
     private javax.swing.JScrollPane scrollResult1;
     private javax.swing.JScrollPane scroolTable;
     private javax.swing.JSpinner spinDimention;